@@ -0,0 +1,113 @@
+package com.aykacltd.cone;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the {@link BankEngine} implementations under uniform and Zipfian account skew.
+ * <p>
+ * Replaces the single-call {@code System.nanoTime()} timings in the JUnit performance tests:
+ * JMH handles warmup, dead-code elimination and forking, so numbers are comparable across
+ * commits. Thread count is swept by {@link BenchmarkRunner}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BankBenchmark {
+
+  @Param({"Bank", "BankReadWrite", "BankClaude", "LockFreeBank", "MappedBank"})
+  public String engine;
+
+  @Param({"uniform", "zipfian"})
+  public String skew;
+
+  @Param({"1024"})
+  public int accounts;
+
+  private BankEngine bank;
+  private ZipfianGenerator zipf;
+
+  // Large enough that withdraw/transfer of 1 never drains an account during a run
+  static final long INITIAL_BALANCE = 1L << 40;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, INITIAL_BALANCE);
+    bank = create(engine, balances);
+    zipf = "zipfian".equals(skew) ? new ZipfianGenerator(accounts, 0.99) : null;
+  }
+
+  static BankEngine create(String engine, long[] balances) {
+    switch (engine) {
+      case "Bank":
+        return new Bank(balances);
+      case "BankReadWrite":
+        return new BankReadWrite(balances);
+      case "BankClaude":
+        return new BankClaude(balances);
+      case "LockFreeBank":
+        return new LockFreeBank(balances);
+      case "MappedBank":
+        try {
+          Path ledger = Files.createTempFile("ledger", ".bin");
+          ledger.toFile().deleteOnExit();
+          return MappedBank.create(ledger, balances);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      default:
+        throw new IllegalArgumentException("Unknown engine: " + engine);
+    }
+  }
+
+  private int nextAccount() {
+    return zipf != null ? zipf.next() : ThreadLocalRandom.current().nextInt(accounts) + 1;
+  }
+
+  @Benchmark
+  public boolean deposit() {
+    return bank.deposit(nextAccount(), 1);
+  }
+
+  @Benchmark
+  public boolean withdraw() {
+    return bank.withdraw(nextAccount(), 1);
+  }
+
+  @Benchmark
+  public boolean transfer() {
+    return bank.transfer(nextAccount(), nextAccount(), 1);
+  }
+
+  /**
+   * 90% getBalance / 10% transfer.
+   */
+  @Benchmark
+  public long readHeavy() {
+    if (ThreadLocalRandom.current().nextInt(10) == 0) {
+      return bank.transfer(nextAccount(), nextAccount(), 1) ? 1 : 0;
+    }
+    return bank.getBalance(nextAccount());
+  }
+}
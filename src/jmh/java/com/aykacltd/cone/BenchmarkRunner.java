@@ -0,0 +1,48 @@
+package com.aykacltd.cone;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks once per thread count and writes one JSON result file per run.
+ * <p>
+ * Usage: {@code BenchmarkRunner <includeRegex> <threads,...> <outputDir> [profilers,...]}
+ * <p>
+ * Profilers are JMH profiler names, e.g. {@code gc} to report the allocation rate
+ * ({@code gc.alloc.rate.norm} = bytes per operation); {@code none} disables them.
+ * <p>
+ * JMH only accepts a single thread count per run, so the sweep is done here; the files
+ * {@code <outputDir>/threads-<n>.json} can be diffed across commits to spot regressions.
+ */
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws RunnerException, IOException {
+    String include = args.length > 0 ? args[0] : ".*Benchmark.*";
+    int[] threadCounts = args.length > 1
+        ? Arrays.stream(args[1].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+        : new int[] {1, 2, 4, 8, 16, 32, 64};
+    Path outputDir = Path.of(args.length > 2 ? args[2] : "target/jmh");
+    Files.createDirectories(outputDir);
+    String[] profilers = args.length > 3 && !args[3].isBlank() && !"none".equals(args[3])
+        ? args[3].split(",") : new String[0];
+
+    for (int threads : threadCounts) {
+      ChainedOptionsBuilder builder = new OptionsBuilder()
+          .include(include)
+          .threads(threads)
+          .resultFormat(ResultFormatType.JSON)
+          .result(outputDir.resolve("threads-" + threads + ".json").toString());
+      for (String profiler : profilers) {
+        builder.addProfiler(profiler.trim());
+      }
+      new Runner(builder.build()).run();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.aykacltd.cone;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Bank} with one fee-collector account that receives {@code hotShare}% of all
+ * deposits, with hot-account promotion off ({@code promoteAfter = 0}) and on.
+ * The occasional withdraw from the hot account exercises the reconcile path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotAccountBenchmark {
+
+  static final int HOT_ACCOUNT = 1;
+
+  @Param({"0", "16"})
+  public int promoteAfter;
+
+  @Param({"70"})
+  public int hotShare;
+
+  @Param({"1024"})
+  public int accounts;
+
+  private Bank bank;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, BankBenchmark.INITIAL_BALANCE);
+    bank = new Bank(balances, promoteAfter);
+  }
+
+  @Benchmark
+  public boolean deposit() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int account = random.nextInt(100) < hotShare ? HOT_ACCOUNT : random.nextInt(accounts) + 1;
+    return bank.deposit(account, 1);
+  }
+
+  @Benchmark
+  public boolean depositWithSweeps() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int roll = random.nextInt(1000);
+    if (roll == 0) {
+      return bank.withdraw(HOT_ACCOUNT, 1);  // 0.1% of operations sweep the collector
+    }
+    int account = roll % 100 < hotShare ? HOT_ACCOUNT : random.nextInt(accounts) + 1;
+    return bank.deposit(account, 1);
+  }
+}
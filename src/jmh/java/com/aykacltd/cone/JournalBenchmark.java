@@ -0,0 +1,82 @@
+package com.aykacltd.cone;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of durability: {@link JournaledBank} over {@link BankClaude} at several group-commit
+ * batch sizes, against the plain in-memory engine ({@code batchSize = 0}).
+ * Throughput is dominated by fsync latency, so it should grow with thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+  @Param({"0", "1", "64", "1024"})
+  public int batchSize;
+
+  @Param({"200"})
+  public long flushIntervalMicros;
+
+  @Param({"1024"})
+  public int accounts;
+
+  private BankEngine bank;
+  private Path journalFile;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, BankBenchmark.INITIAL_BALANCE);
+    if (batchSize == 0) {
+      bank = new BankClaude(balances);
+      return;
+    }
+    journalFile = Files.createTempFile("bank", ".journal");
+    bank = new JournaledBank(new BankClaude(balances),
+        new TransactionJournal(journalFile, batchSize, flushIntervalMicros));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    if (bank instanceof JournaledBank) {
+      ((JournaledBank) bank).close();
+      Files.deleteIfExists(journalFile);
+    }
+  }
+
+  private int nextAccount() {
+    return ThreadLocalRandom.current().nextInt(accounts) + 1;
+  }
+
+  @Benchmark
+  public boolean deposit() {
+    return bank.deposit(nextAccount(), 1);
+  }
+
+  @Benchmark
+  public boolean transfer() {
+    return bank.transfer(nextAccount(), nextAccount(), 1);
+  }
+}
@@ -0,0 +1,68 @@
+package com.aykacltd.cone;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One payer paying {@code k - 1} payees: a single atomic {@link BankClaude#post} against
+ * {@code k - 1} separate transfers (which take and release a lock pair each, and are not
+ * atomic as a whole). Scores are postings per microsecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiLegBenchmark {
+
+  @Param({"2", "4", "8", "16"})
+  public int legs;
+
+  @Param({"65536"})
+  public int accounts;
+
+  private BankClaude bank;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, BankBenchmark.INITIAL_BALANCE);
+    bank = new BankClaude(balances);
+  }
+
+  @Benchmark
+  public boolean post() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    BankClaude.Leg[] posting = new BankClaude.Leg[legs];
+    posting[0] = new BankClaude.Leg(random.nextInt(accounts) + 1, -(legs - 1));
+    for (int i = 1; i < legs; i++) {
+      posting[i] = new BankClaude.Leg(random.nextInt(accounts) + 1, 1);
+    }
+    return bank.post(posting);
+  }
+
+  @Benchmark
+  public boolean separateTransfers() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int payer = random.nextInt(accounts) + 1;
+    boolean ok = true;
+    for (int i = 1; i < legs; i++) {
+      ok &= bank.transfer(payer, random.nextInt(accounts) + 1, 1);
+    }
+    return ok;
+  }
+}
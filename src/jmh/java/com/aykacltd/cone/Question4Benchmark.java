@@ -0,0 +1,83 @@
+package com.aykacltd.cone;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Question4.Bank} through its string-id API, with auditing off and with the async
+ * audit log writing to a null stream (the cost of queueing entries, not of disk I/O).
+ * <p>
+ * Per-operation cost only; for thousands of concurrent clients run {@link LoadGenerator},
+ * which drives the same bank from 100k virtual threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Question4Benchmark {
+
+  @Param({"none", "async"})
+  public String audit;
+
+  @Param({"1024"})
+  public int accounts;
+
+  private Question4.Bank bank;
+  private Question4.AsyncAuditLog asyncLog;
+  private String[] ids;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Question4.AuditLog log = Question4.AuditLog.NONE;
+    if (audit.equals("async")) {
+      asyncLog = new Question4.AsyncAuditLog(
+          new PrintStream(OutputStream.nullOutputStream()), 8192);
+      log = asyncLog;
+    }
+    bank = new Question4.Bank("Benchmark", log);
+    ids = new String[accounts];
+    for (int i = 0; i < accounts; i++) {
+      ids[i] = bank.createAccount("Owner" + (i + 1), BankBenchmark.INITIAL_BALANCE).getId();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (asyncLog != null) {
+      asyncLog.close();
+    }
+  }
+
+  @Benchmark
+  public void deposit() {
+    bank.deposit(ids[ThreadLocalRandom.current().nextInt(accounts)], 1);
+  }
+
+  @Benchmark
+  public void transfer() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    bank.transfer(ids[random.nextInt(accounts)], ids[random.nextInt(accounts)], 1);
+  }
+
+  @Benchmark
+  public long checkBalance() {
+    return bank.checkBalance(ids[ThreadLocalRandom.current().nextInt(accounts)]);
+  }
+}
@@ -0,0 +1,99 @@
+package com.aykacltd.cone;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of {@link ShardedBank} with the shard count, against lock-per-account
+ * {@link BankClaude} ({@code shards = 0}).
+ * <p>
+ * The blocking benchmarks wait for every operation, so they mostly measure the queue
+ * hand-off latency; the pipelined ones keep {@link #PIPELINE} operations in flight per
+ * caller, which is how a single-writer design is meant to be driven.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShardedBankBenchmark {
+
+  static final int PIPELINE = 64;
+
+  @Param({"0", "1", "2", "4", "8"})
+  public int shards;
+
+  @Param({"65536"})
+  public int accounts;
+
+  private BankEngine bank;
+  private ShardedBank sharded;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, BankBenchmark.INITIAL_BALANCE);
+    if (shards == 0) {
+      bank = new BankClaude(balances);
+    } else {
+      sharded = new ShardedBank(balances, shards);
+      bank = sharded;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (sharded != null) {
+      sharded.close();
+    }
+  }
+
+  private int nextAccount() {
+    return ThreadLocalRandom.current().nextInt(accounts) + 1;
+  }
+
+  @Benchmark
+  public boolean deposit() {
+    return bank.deposit(nextAccount(), 1);
+  }
+
+  @Benchmark
+  public boolean transfer() {
+    return bank.transfer(nextAccount(), nextAccount(), 1);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PIPELINE)
+  public boolean transferPipelined() {
+    if (sharded == null) {
+      boolean ok = true;
+      for (int i = 0; i < PIPELINE; i++) {
+        ok &= bank.transfer(nextAccount(), nextAccount(), 1);
+      }
+      return ok;
+    }
+    CompletableFuture<?>[] inFlight = new CompletableFuture<?>[PIPELINE];
+    for (int i = 0; i < PIPELINE; i++) {
+      inFlight[i] = sharded.transferAsync(nextAccount(), nextAccount(), 1);
+    }
+    CompletableFuture.allOf(inFlight).join();
+    return true;
+  }
+}
@@ -0,0 +1,59 @@
+package com.aykacltd.cone;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * How contention in {@link BankClaude} changes with the stripe count.
+ * {@code stripes = 0} is the default one-lock-per-account mode, as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StripedLockBenchmark {
+
+  @Param({"0", "1", "16", "256", "4096"})
+  public int stripes;
+
+  @Param({"65536"})
+  public int accounts;
+
+  private BankClaude bank;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, BankBenchmark.INITIAL_BALANCE);
+    bank = stripes == 0 ? new BankClaude(balances) : new BankClaude(balances, stripes);
+  }
+
+  private int nextAccount() {
+    return ThreadLocalRandom.current().nextInt(accounts) + 1;
+  }
+
+  @Benchmark
+  public boolean deposit() {
+    return bank.deposit(nextAccount(), 1);
+  }
+
+  @Benchmark
+  public boolean transfer() {
+    return bank.transfer(nextAccount(), nextAccount(), 1);
+  }
+}
@@ -0,0 +1,81 @@
+package com.aykacltd.cone;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BankClaude#transferBatch} versus the same legs issued as individual transfers.
+ * Scores are per leg, so the two benchmarks are directly comparable.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferBatchBenchmark {
+
+  static final int LEGS = 64;
+
+  @Param({"64", "4096"})
+  public int accounts;
+
+  private BankClaude bank;
+
+  @State(Scope.Thread)
+  public static class Batch {
+    int[] from = new int[LEGS];
+    int[] to = new int[LEGS];
+    long[] amounts = new long[LEGS];
+
+    @Setup(Level.Invocation)
+    public void next(TransferBatchBenchmark benchmark) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int i = 0; i < LEGS; i++) {
+        from[i] = random.nextInt(benchmark.accounts) + 1;
+        to[i] = random.nextInt(benchmark.accounts) + 1;
+        amounts[i] = 1;
+      }
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    long[] balances = new long[accounts];
+    Arrays.fill(balances, BankBenchmark.INITIAL_BALANCE);
+    bank = new BankClaude(balances);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LEGS)
+  public BitSet batched(Batch batch) {
+    return bank.transferBatch(batch.from, batch.to, batch.amounts);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LEGS)
+  public int individual(Batch batch) {
+    int ok = 0;
+    for (int i = 0; i < LEGS; i++) {
+      if (bank.transfer(batch.from[i], batch.to[i], batch.amounts[i])) {
+        ok++;
+      }
+    }
+    return ok;
+  }
+}
@@ -0,0 +1,97 @@
+package com.hackerrank.strings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AnagramIndex} against the textbook grouping (lower-case, sort, new String key, HashMap)
+ * over {@code tokens} short words drawn from a vocabulary of 50k, plus a lookup on a filled
+ * index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnagramIndexBenchmark {
+
+  @Param({"1000000"})
+  public int tokens;
+
+  private List<String> words;
+  private AnagramIndex filled;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    String[] vocabulary = new String[50_000];
+    for (int i = 0; i < vocabulary.length; i++) {
+      char[] chars = new char[3 + random.nextInt(8)];
+      for (int k = 0; k < chars.length; k++) {
+        chars[k] = (char) ('a' + random.nextInt(26));
+      }
+      vocabulary[i] = new String(chars);
+    }
+    words = new ArrayList<>(tokens);
+    for (int i = 0; i < tokens; i++) {
+      words.add(vocabulary[random.nextInt(vocabulary.length)]);
+    }
+    filled = new AnagramIndex();
+    filled.addAll(words);
+  }
+
+  @Benchmark
+  public Map<String, Set<String>> sortedStringKeys() {
+    Map<String, Set<String>> groups = new HashMap<>();
+    for (String word : words) {
+      char[] key = word.toLowerCase().toCharArray();
+      Arrays.sort(key);
+      groups.computeIfAbsent(new String(key), k -> new HashSet<>()).add(word);
+    }
+    return groups;
+  }
+
+  @Benchmark
+  public AnagramIndex indexSequential() {
+    AnagramIndex index = new AnagramIndex();
+    for (String word : words) {
+      index.add(word);
+    }
+    return index;
+  }
+
+  @Benchmark
+  public AnagramIndex indexParallel() {
+    AnagramIndex index = new AnagramIndex();
+    index.addAll(words);
+    return index;
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Set<String> lookup() {
+    next = (next + 1) % tokens;
+    return filled.anagramsOf(words.get(next));
+  }
+}
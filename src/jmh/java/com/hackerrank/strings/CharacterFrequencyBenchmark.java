@@ -0,0 +1,80 @@
+package com.hackerrank.strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The three map-based {@link CharacterFrequency} methods against the primitive
+ * {@link CharacterHistogram} paths, on log-like text: mostly ASCII with a configurable share
+ * ({@code widePercent}) of non-Latin-1 chars. The Latin-1 path counts the same text as bytes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterFrequencyBenchmark {
+
+  @Param({"1048576"})
+  public int length;
+
+  @Param({"0", "5"})
+  public int widePercent;
+
+  private final CharacterFrequency frequency = new CharacterFrequency();
+  private String text;
+  private byte[] latin1;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    String alphabet = "eeeetttaaooinnsshhrdlu      0123456789:-.[]=\n";
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = random.nextInt(100) < widePercent ? (char) random.nextInt(0x400, 0x4FF)
+          : alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+    text = new String(chars);
+    latin1 = text.getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  @Benchmark
+  public Map<Character, Long> streams() {
+    return frequency.countCharacters(text);
+  }
+
+  @Benchmark
+  public Map<Character, Integer> traditional() {
+    return frequency.countCharactersTraditional(text);
+  }
+
+  @Benchmark
+  public Map<Character, Integer> efficiently() {
+    return frequency.countCharactersEfficiently(text);
+  }
+
+  @Benchmark
+  public long[] histogramUtf16() {
+    return CharacterHistogram.count(text);
+  }
+
+  @Benchmark
+  public long[] histogramLatin1() {
+    return CharacterHistogram.countLatin1(latin1);
+  }
+}
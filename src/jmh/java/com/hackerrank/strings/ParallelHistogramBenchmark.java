@@ -0,0 +1,75 @@
+package com.hackerrank.strings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of {@link CharacterHistogram#parallelCount} with the pool size, on a String and on
+ * a UTF-8 file of {@code megabytes} MB. Run with {@code -Djmh.threads=1}: the parallelism
+ * comes from the pool, not from JMH threads. {@code parallelism = 1} is the sequential path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelHistogramBenchmark {
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  @Param({"64"})
+  public int megabytes;
+
+  private ForkJoinPool pool;
+  private String text;
+  private Path file;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    pool = new ForkJoinPool(parallelism);
+    SplittableRandom random = new SplittableRandom(42);
+    String alphabet = "eeeetttaaooinnsshhrdlu      0123456789:-.[]=\néü€";
+    char[] chars = new char[megabytes << 20];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+    text = new String(chars);
+    file = Files.createTempFile("histogram", ".txt");
+    Files.writeString(file, text);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    pool.close();
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public long[] string() {
+    return CharacterHistogram.parallelCount(text, pool);
+  }
+
+  @Benchmark
+  public long[] utf8File() throws IOException {
+    return CharacterHistogram.parallelCount(file, pool);
+  }
+}
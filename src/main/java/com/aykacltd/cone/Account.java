@@ -1,20 +1,68 @@
 package com.aykacltd.cone;
 
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Balance guarded by a lock, with an optional "hot" mode for accounts that receive a large
+ * share of all deposits (fee collectors, merchant sinks).
+ * <p>
+ * A hot account no longer serializes deposits: they are added to a {@link LongAdder}, whose
+ * striped cells let concurrent depositors proceed without touching the lock. Withdrawals
+ * still take the lock and first fold the cells into the locked balance
+ * ({@code sumThenReset}), so the overdraft check always sees every completed deposit.
+ * <p>
+ * Promotion is either explicit ({@link #promoteToHot()}) or automatic: with a positive
+ * {@code promoteAfter}, the account switches once that many deposits found the lock already
+ * held. The counter is deliberately racy; it only has to notice sustained contention.
+ * Accounts are never demoted.
+ * <p>
+ * An account created by a {@link Bank} reports the time it spends blocked on its lock to the
+ * bank's {@link BankMetrics}.
+ */
 public class Account {
 
   private long balance;
   private Lock lock;
+  private final int promoteAfter;
+  private int contendedDeposits;
+  private volatile LongAdder hotDeposits;    // null until the account is promoted
+  private final BankMetrics metrics;         // null for standalone accounts
 
   public Account(long balance) {
+    this(balance, 0);
+  }
+
+  /**
+   * @param promoteAfter number of contended deposits before switching to hot mode;
+   *                     0 disables automatic promotion
+   */
+  public Account(long balance, int promoteAfter) {
+    this(balance, promoteAfter, null);
+  }
+
+  Account(long balance, int promoteAfter, BankMetrics metrics) {
     this.balance = balance;
     this.lock = new ReentrantLock();
+    this.promoteAfter = promoteAfter;
+    this.metrics = metrics;
   }
 
   public boolean deposit(long money) {
-    this.lock.lock();
+    LongAdder cells = hotDeposits;
+    if (cells != null) {
+      cells.add(money);
+      return true;
+    }
+    if (!this.lock.tryLock()) {
+      if (promoteAfter > 0 && ++contendedDeposits >= promoteAfter) {
+        promoteToHot();
+        hotDeposits.add(money);
+        return true;
+      }
+      lockContended();
+    }
     try {
       this.balance += money;
     } finally {
@@ -24,8 +72,9 @@ public class Account {
   }
 
   public boolean withdraw(long money) {
-    this.lock.lock();
+    acquire();
     try {
+      foldHotDeposits();
       if (this.balance < money) {
         return false;
       }
@@ -35,4 +84,54 @@ public class Account {
     }
     return true;
   }
+
+  public long getBalance() {
+    acquire();
+    try {
+      foldHotDeposits();
+      return this.balance;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Switch deposits to striped cells; idempotent.
+   */
+  public void promoteToHot() {
+    this.lock.lock();
+    try {
+      if (hotDeposits == null) {
+        hotDeposits = new LongAdder();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public boolean isHot() {
+    return hotDeposits != null;
+  }
+
+  private void acquire() {
+    if (!this.lock.tryLock()) {
+      lockContended();
+    }
+  }
+
+  private void lockContended() {
+    long start = System.nanoTime();
+    this.lock.lock();
+    if (metrics != null) {
+      metrics.recordLockWait(System.nanoTime() - start);
+    }
+  }
+
+  // Caller holds the lock
+  private void foldHotDeposits() {
+    LongAdder cells = hotDeposits;
+    if (cells != null) {
+      this.balance += cells.sumThenReset();
+    }
+  }
 }
@@ -1,48 +1,80 @@
 package com.aykacltd.cone;
 
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
+/**
+ * Account guarded by a single {@link StampedLock}.
+ * <p>
+ * Writers take the exclusive write lock. {@link #getBalance()} first tries an optimistic read:
+ * it reads the balance without blocking or writing any shared state and keeps the value if no
+ * writer got in between (the stamp still validates). Only when validation fails does it fall
+ * back to a real read lock. Readers therefore never contend with each other, and StampedLock
+ * is non-reentrant and unfair, so there is no fairness queue to pay for either.
+ * <p>
+ * Blocked write-lock acquisitions are reported to the owning bank's {@link BankMetrics}.
+ */
 public class AccountReadWrite {
 
+  private final StampedLock lock = new StampedLock();
   private long balance;
-  private ReentrantReadWriteLock.ReadLock readLock;
-  private ReentrantReadWriteLock.WriteLock writeLock;
+  private final BankMetrics metrics;         // null for standalone accounts
 
   public AccountReadWrite(long balance) {
+    this(balance, null);
+  }
+
+  AccountReadWrite(long balance, BankMetrics metrics) {
     this.balance = balance;
-    this.readLock = new ReentrantReadWriteLock(true).readLock();
-    this.writeLock = new ReentrantReadWriteLock(true).writeLock();
+    this.metrics = metrics;
   }
 
   public boolean deposit(long money) {
-    this.writeLock.lock();
+    long stamp = writeLock();
     try {
       this.balance += money;
     } finally {
-      this.writeLock.unlock();
+      lock.unlockWrite(stamp);
     }
     return true;
   }
 
   public boolean withdraw(long money) {
-    this.writeLock.lock();
+    long stamp = writeLock();
     try {
       if (this.balance < money) {
         return false;
       }
       this.balance -= money;
     } finally {
-      this.writeLock.unlock();
+      lock.unlockWrite(stamp);
     }
     return true;
   }
 
+  private long writeLock() {
+    long stamp = lock.tryWriteLock();
+    if (stamp != 0) {
+      return stamp;
+    }
+    long start = System.nanoTime();
+    stamp = lock.writeLock();
+    if (metrics != null) {
+      metrics.recordLockWait(System.nanoTime() - start);
+    }
+    return stamp;
+  }
+
   public long getBalance() {
-    this.readLock.lock();
+    long stamp = lock.tryOptimisticRead();
+    long current = this.balance;
+    if (lock.validate(stamp)) {
+      return current;
+    }
+    stamp = lock.readLock();                 // a writer interfered, read under the lock
     try {
       return this.balance;
     } finally {
-      this.readLock.unlock();
+      lock.unlockRead(stamp);
     }
   }
 
@@ -0,0 +1,201 @@
+package com.aykacltd.cone;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over any {@link BankEngine}, for callers that must never park (event
+ * loops, reactive gateways).
+ * <p>
+ * Every call returns a {@link CompletableFuture} right away. The operation is queued on the
+ * lane of its account (the source account for a transfer) and executed later by a worker, so
+ * any lock wait inside the engine happens on the worker, never on the caller. Operations on
+ * the same account run one at a time in submission order.
+ * <p>
+ * Backpressure: each lane holds at most {@code laneCapacity} queued operations. When it is
+ * full the returned future is already failed with {@link RejectedExecutionException}; the
+ * caller can shed or retry later, but is never blocked. Submission itself is lock-free
+ * (a CAS-bounded counter in front of a {@link ConcurrentLinkedQueue}). If the executor
+ * refuses to run a lane (shut down, or {@link #close} racing with a submit), the lane's
+ * queued operations fail with its {@link RejectedExecutionException}; an engine call never
+ * runs on the caller's thread.
+ * <p>
+ * Futures complete on the worker thread; use the {@code *Async} continuations of
+ * CompletableFuture to move follow-up work elsewhere.
+ */
+public class AsyncBank implements AutoCloseable {
+
+  // Tasks a lane runs before handing its worker back to the executor
+  private static final int DRAIN_BATCH = 64;
+
+  private final BankEngine engine;
+  private final Lane[] lanes;
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private volatile boolean closed;
+
+  /**
+   * Facade running the engine calls on its own virtual threads: a worker blocked on an
+   * engine lock just unmounts.
+   */
+  public AsyncBank(BankEngine engine, int laneCount, int laneCapacity) {
+    this(engine, laneCount, laneCapacity, Executors.newVirtualThreadPerTaskExecutor(), true);
+  }
+
+  /**
+   * Facade running the engine calls on {@code executor}, which must not be the caller's
+   * event loop.
+   */
+  public AsyncBank(BankEngine engine, int laneCount, int laneCapacity, Executor executor) {
+    this(engine, laneCount, laneCapacity, executor, false);
+  }
+
+  private AsyncBank(BankEngine engine, int laneCount, int laneCapacity, Executor executor,
+                    boolean owned) {
+    if (laneCount <= 0 || laneCapacity <= 0) {
+      throw new IllegalArgumentException("laneCount and laneCapacity must be positive");
+    }
+    this.engine = engine;
+    this.executor = executor;
+    this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    this.lanes = new Lane[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      lanes[i] = new Lane(laneCapacity);
+    }
+  }
+
+  public CompletableFuture<Boolean> depositAsync(int account, long money) {
+    return submit(account, () -> engine.deposit(account, money));
+  }
+
+  public CompletableFuture<Boolean> withdrawAsync(int account, long money) {
+    return submit(account, () -> engine.withdraw(account, money));
+  }
+
+  public CompletableFuture<Boolean> transferAsync(int account1, int account2, long money) {
+    return submit(account1, () -> engine.transfer(account1, account2, money));
+  }
+
+  public CompletableFuture<Long> balanceAsync(int account) {
+    return submit(account, () -> engine.getBalance(account));
+  }
+
+  private <T> CompletableFuture<T> submit(int account, Supplier<T> operation) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Lane lane = lanes[Math.floorMod(account, lanes.length)];
+    Task<T> task = new Task<>(result, operation);
+    if (closed) {
+      result.completeExceptionally(new RejectedExecutionException("AsyncBank is closed"));
+    } else if (!lane.offer(task)) {
+      result.completeExceptionally(
+          new RejectedExecutionException("Queue full for account " + account));
+    }
+    return result;
+  }
+
+  /**
+   * Reject new operations and, if this facade created its executor, wait for the queued
+   * ones to finish.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (ownedExecutor != null) {
+      ownedExecutor.close();
+    }
+  }
+
+  private static final class Task<T> {
+
+    final CompletableFuture<T> result;
+    final Supplier<T> operation;
+
+    Task(CompletableFuture<T> result, Supplier<T> operation) {
+      this.result = result;
+      this.operation = operation;
+    }
+
+    void run() {
+      try {
+        result.complete(operation.get());
+      } catch (Throwable t) {                // never let a task kill the lane's drain loop
+        result.completeExceptionally(t);
+      }
+    }
+  }
+
+  // ── Lane: bounded MPSC mailbox drained by at most one worker ─────────────
+
+  private final class Lane implements Runnable {
+
+    private final ConcurrentLinkedQueue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+    // Capacity reservations: queued + in-flight tasks, bounded by capacity
+    private final AtomicInteger reserved = new AtomicInteger();
+    // Tasks already in the queue and not yet taken. Raised only after the offer, so the
+    // drainer never polls an empty queue; 0 -> 1 schedules the drain, reaching 0 ends it.
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int capacity;
+
+    Lane(int capacity) {
+      this.capacity = capacity;
+    }
+
+    boolean offer(Task<?> task) {
+      int count;
+      do {
+        count = reserved.get();
+        if (count >= capacity) {
+          return false;
+        }
+      } while (!reserved.compareAndSet(count, count + 1));
+      queue.offer(task);
+      if (queued.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          reject(e);                         // never run the engine on the caller's thread
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void run() {
+      int done = 0;
+      while (true) {
+        queue.poll().run();
+        reserved.decrementAndGet();
+        if (queued.decrementAndGet() == 0) {
+          return;
+        }
+        if (++done == DRAIN_BATCH && handOff()) {
+          return;
+        }
+      }
+    }
+
+    // Drain like run(), failing the tasks instead of executing them
+    private void reject(RejectedExecutionException cause) {
+      do {
+        queue.poll().result.completeExceptionally(cause);
+        reserved.decrementAndGet();
+      } while (queued.decrementAndGet() != 0);
+    }
+
+    // Still busy after a batch: requeue so other lanes get the worker too
+    private boolean handOff() {
+      try {
+        executor.execute(this);
+        return true;
+      } catch (RejectedExecutionException e) {
+        return false;                        // shutting down: keep draining here
+      }
+    }
+  }
+}
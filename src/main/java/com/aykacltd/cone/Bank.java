@@ -1,38 +1,83 @@
 package com.aykacltd.cone;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+class Bank implements BankEngine {
 
-class Bank {
-
-  private Map<Integer, Account> map;
+  // Account ids are contiguous (1..n), so account k lives at accounts[k - 1]: one bounds
+  // check per lookup, no hashing and no Integer boxing.
+  private final Account[] accounts;
+  private final BankMetrics metrics = new BankMetrics();
 
   public Bank(long[] balance) {
-    this.map = new ConcurrentHashMap<>();
+    this(balance, 0);
+  }
+
+  /**
+   * @param hotPromoteAfter contended deposits after which an account switches to striped
+   *                        deposit cells (see {@link Account}); 0 keeps every account locked
+   */
+  public Bank(long[] balance, int hotPromoteAfter) {
+    this.accounts = new Account[balance.length];
     for (int i = 0; i < balance.length; i++) {
-      map.put(i + 1, new Account(balance[i]));
+      accounts[i] = new Account(balance[i], hotPromoteAfter, metrics);
     }
   }
 
+  private Account lookup(int account) {
+    return account >= 1 && account <= accounts.length ? accounts[account - 1] : null;
+  }
+
+  @Override
   public boolean transfer(int account1, int account2, long money) {
-    if (!map.containsKey(account1) || !map.containsKey(account2) ||
-        !map.get(account1).withdraw(money)) {
+    long start = System.nanoTime();
+    return metrics.record(BankMetrics.Op.TRANSFER, start,
+        tryTransfer(account1, account2, money));
+  }
+
+  private boolean tryTransfer(int account1, int account2, long money) {
+    Account from = lookup(account1);
+    Account to = lookup(account2);
+    if (from == null || to == null || !from.withdraw(money)) {
       return false;
     }
-    return map.get(account2).deposit(money);
+    return to.deposit(money);
   }
 
+  @Override
   public boolean deposit(int account, long money) {
-    if (!map.containsKey(account)) {
-      return false;
-    }
-    return map.get(account).deposit(money);
+    long start = System.nanoTime();
+    Account acc = lookup(account);
+    return metrics.record(BankMetrics.Op.DEPOSIT, start, acc != null && acc.deposit(money));
   }
 
+  @Override
   public boolean withdraw(int account, long money) {
-    if (!map.containsKey(account)) {
-      return false;
+    long start = System.nanoTime();
+    Account acc = lookup(account);
+    return metrics.record(BankMetrics.Op.WITHDRAW, start, acc != null && acc.withdraw(money));
+  }
+
+  @Override
+  public long getBalance(int account) {
+    long start = System.nanoTime();
+    Account acc = lookup(account);
+    if (acc == null) {
+      metrics.record(BankMetrics.Op.BALANCE, start, false);
+      throw new IllegalArgumentException("Account not found: " + account);
     }
-    return map.get(account).withdraw(money);
+    long balance = acc.getBalance();
+    metrics.record(BankMetrics.Op.BALANCE, start, true);
+    return balance;
+  }
+
+  @Override
+  public int size() {
+    return accounts.length;
+  }
+
+  /**
+   * Live operation counters, latencies and lock-wait time of this bank.
+   */
+  public BankMetrics metrics() {
+    return metrics;
   }
 }
@@ -1,5 +1,9 @@
 package com.aykacltd.cone;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -10,25 +14,88 @@ import java.util.concurrent.locks.ReentrantLock;
  * - For transfer(), we always acquire locks in a consistent order
  * (lower index first) to prevent deadlock.
  * - deposit() and withdraw() lock only the single relevant account.
+ * - Striped mode (optional): a power-of-two number of locks is shared by all
+ * accounts, account index i maps to stripe (i & (stripes - 1)), and locks
+ * are ordered by stripe index instead. Lock memory drops from O(n) to
+ * O(stripes) at the cost of false contention between accounts that share a
+ * stripe.
+ * - snapshot() is copy-on-write: it bumps an epoch, and the first write to an
+ * account in the new epoch saves the old balance as a pre-image. Writers read
+ * the epoch only after acquiring their locks, so every operation lands wholly
+ * before or wholly after the snapshot without a global pause.
+ * - Credit limits and holds: each account's credit limit and held amount sit
+ * next to its balance and are guarded by the same lock, so a debit checks
+ * balance - money >= -creditLimit against a limit no one can change under it,
+ * and reserve()/capture()/release() move money between balance and held in one
+ * critical section. Open holds are tracked in a lock-free
+ * {@link HoldTable} outside the account locks.
+ * - Every operation is counted and timed in {@link #metrics()}; lock waits are
+ * only measured when the tryLock fast path fails.
  * <p>
  * Time:  O(1) per operation
- * Space: O(n) for balances + locks arrays
+ * Space: O(n) for balances + O(n) locks (O(stripes) in striped mode)
  */
-public class BankClaude {
+public class BankClaude implements ReservingBankEngine {
 
   private final long[] balance;
+  private final long[] held;                 // guarded like balance
+  private final long[] creditLimit;          // guarded like balance
+  private final HoldTable holds = new HoldTable();
   private final ReentrantLock[] locks;
   private final int n;
+  // Account index -> lock index; -1 (all bits set) means one lock per account
+  private final int stripeMask;
+
+  // Snapshot state: epoch 0 means no snapshot was ever taken (no pre-images kept).
+  // preImage/preImageEpoch are published by the volatile epoch write; entries are
+  // guarded by the account's lock.
+  private final ReentrantLock snapshotLock = new ReentrantLock();
+  private volatile int epoch;
+  private long[] preImage;
+  private int[] preImageEpoch;
+
+  private final BankMetrics metrics = new BankMetrics();
+
+  // Idempotent transfers: created on first use, so plain transfers never touch it.
+  // Capacity = rate x TTL, so no id is forgotten inside the TTL at up to 1M req/s. The cache
+  // grows on demand; at the full 10M ids it is ~310 MB, beyond that it rejects new ids.
+  private static final long DEDUP_TTL_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final int DEDUP_CAPACITY = 10_000_000;
+  private static final int DEDUP_SHARDS = 64;
+  private volatile DedupCache dedup;
 
   public BankClaude(long[] balance) {
+    this(balance, balance.length, -1);
+  }
+
+  /**
+   * Striped-lock bank: accounts share {@code stripes} locks.
+   *
+   * @param stripes number of locks, must be a positive power of two
+   */
+  public BankClaude(long[] balance, int stripes) {
+    this(balance, checkStripes(stripes), stripes - 1);
+  }
+
+  private BankClaude(long[] balance, int lockCount, int stripeMask) {
     this.n = balance.length;
     this.balance = balance.clone();          // defensive copy
-    this.locks = new ReentrantLock[n];
-    for (int i = 0; i < n; i++) {
+    this.held = new long[n];
+    this.creditLimit = new long[n];
+    this.stripeMask = stripeMask;
+    this.locks = new ReentrantLock[lockCount];
+    for (int i = 0; i < lockCount; i++) {
       locks[i] = new ReentrantLock();
     }
   }
 
+  private static int checkStripes(int stripes) {
+    if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+      throw new IllegalArgumentException("stripes must be a positive power of two: " + stripes);
+    }
+    return stripes;
+  }
+
   // ── Validation helper ────────────────────────────────────────────────────
 
   public static void main(String[] args) throws InterruptedException {
@@ -84,44 +151,64 @@ public class BankClaude {
     return account >= 1 && account <= n;     // accounts are 1-indexed
   }
 
+  private int stripe(int idx) {
+    return idx & stripeMask;
+  }
+
   /**
    * Deposit money into account.
    * Valid if: account in [1, n].  (deposit can never overdraw)
    */
+  @Override
   public boolean deposit(int account, long money) {
+    long start = System.nanoTime();
+    return metrics.record(BankMetrics.Op.DEPOSIT, start, tryDeposit(account, money));
+  }
+
+  private boolean tryDeposit(int account, long money) {
     if (!isValid(account)) {
       return false;
     }
 
     int idx = account - 1;
-    locks[idx].lock();
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
     try {
+      beforeWrite(idx, epoch);
       balance[idx] += money;
       return true;
     } finally {
-      locks[idx].unlock();           // always released, even on exception
+      lock.unlock();                 // always released, even on exception
     }
   }
 
   /**
    * Withdraw money from account.
-   * Valid if: account in [1, n] AND balance[account] >= money.
+   * Valid if: account in [1, n] AND balance[account] - money >= -creditLimit[account].
    */
+  @Override
   public boolean withdraw(int account, long money) {
+    long start = System.nanoTime();
+    return metrics.record(BankMetrics.Op.WITHDRAW, start, tryWithdraw(account, money));
+  }
+
+  private boolean tryWithdraw(int account, long money) {
     if (!isValid(account)) {
       return false;
     }
 
     int idx = account - 1;
-    locks[idx].lock();
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
     try {
-      if (balance[idx] < money) {
+      if (!covers(idx, money)) {
         return false;
       }
+      beforeWrite(idx, epoch);
       balance[idx] -= money;
       return true;
     } finally {
-      locks[idx].unlock();
+      lock.unlock();
     }
   }
 
@@ -129,39 +216,57 @@ public class BankClaude {
 
   /**
    * Transfer money from account1 to account2.
-   * Valid if: both accounts in [1, n] AND balance[account1] >= money.
+   * Valid if: both accounts in [1, n] AND balance[account1] - money >= -creditLimit[account1].
    * <p>
-   * Deadlock prevention: always lock the lower-index account first.
+   * Deadlock prevention: always lock the lower-index lock first.
    * This enforces a global lock-ordering invariant across all threads.
    */
+  @Override
   public boolean transfer(int account1, int account2, long money) {
+    long start = System.nanoTime();
+    return metrics.record(BankMetrics.Op.TRANSFER, start,
+        tryTransfer(account1, account2, money));
+  }
+
+  private boolean tryTransfer(int account1, int account2, long money) {
     if (!isValid(account1) || !isValid(account2)) {
       return false;
     }
-    if (account1 == account2) {
-      // Same account: just validate balance, no net change needed
-      int idx = account1 - 1;
-      locks[idx].lock();
+    int src = account1 - 1;
+    int dst = account2 - 1;
+    if (stripe(src) == stripe(dst)) {
+      // Same account or same stripe: one lock covers both sides
+      ReentrantLock lock = locks[stripe(src)];
+      acquire(lock);
       try {
-        return balance[idx] >= money;
+        if (!covers(src, money)) {
+          return false;
+        }
+        int e = epoch;
+        beforeWrite(src, e);
+        beforeWrite(dst, e);
+        balance[src] -= money;               // src == dst nets out to a balance check
+        balance[dst] += money;
+        return true;
       } finally {
-        locks[idx].unlock();
+        lock.unlock();
       }
     }
 
     // Determine locking order to prevent deadlock
-    int first = Math.min(account1, account2) - 1;
-    int second = Math.max(account1, account2) - 1;
-    int src = account1 - 1;
-    int dst = account2 - 1;
+    int first = Math.min(stripe(src), stripe(dst));
+    int second = Math.max(stripe(src), stripe(dst));
 
-    locks[first].lock();
+    acquire(locks[first]);
     try {
-      locks[second].lock();
+      acquire(locks[second]);
       try {
-        if (balance[src] < money) {
+        if (!covers(src, money)) {
           return false;
         }
+        int e = epoch;
+        beforeWrite(src, e);
+        beforeWrite(dst, e);
         balance[src] -= money;
         balance[dst] += money;
         return true;
@@ -172,4 +277,435 @@ public class BankClaude {
       locks[first].unlock();
     }
   }
+
+  /**
+   * Idempotent transfer: a retry carrying the same {@code requestId} returns the original
+   * result without moving money again.
+   * <p>
+   * The id is remembered for 10 s, and for as long as the original is still running; a
+   * duplicate that arrives meanwhile waits for its result. If the original throws, the id is
+   * released so the retry can run.
+   *
+   * @throws RejectedExecutionException if more than 10M ids are live (over 1M req/s
+   *                                    sustained); nothing is applied, retry later
+   */
+  public boolean transfer(long requestId, int account1, int account2, long money) {
+    DedupCache cache = dedupCache();
+    int prior = cache.claim(requestId);
+    if (prior != DedupCache.CLAIMED) {
+      return prior == 1;
+    }
+    boolean ok;
+    try {
+      ok = transfer(account1, account2, money);
+    } catch (RuntimeException | Error e) {
+      cache.abandon(requestId);
+      throw e;
+    }
+    cache.complete(requestId, ok);
+    return ok;
+  }
+
+  private DedupCache dedupCache() {
+    DedupCache cache = dedup;
+    if (cache == null) {
+      synchronized (this) {
+        cache = dedup;
+        if (cache == null) {
+          cache = new DedupCache(DEDUP_CAPACITY, DEDUP_TTL_NANOS, DEDUP_SHARDS);
+          dedup = cache;
+        }
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Apply a batch of transfers, leg i moving amounts[i] from from[i] to to[i].
+   * <p>
+   * Every lock touched by the batch is acquired exactly once, in ascending lock order
+   * (the same global order transfer() uses, so batches and single transfers can never
+   * deadlock each other). Legs are then applied in submission order with the usual
+   * transfer() rules, so the outcome is identical to issuing them one by one.
+   *
+   * @return bit i is set iff leg i succeeded
+   */
+  public BitSet transferBatch(int[] from, int[] to, long[] amounts) {
+    if (from.length != to.length || from.length != amounts.length) {
+      throw new IllegalArgumentException("from, to and amounts must have the same length");
+    }
+
+    // Collect the distinct locks touched by valid legs, sorted = lock order
+    int[] touched = new int[2 * from.length];
+    int count = 0;
+    for (int i = 0; i < from.length; i++) {
+      if (isValid(from[i]) && isValid(to[i])) {
+        touched[count++] = stripe(from[i] - 1);
+        touched[count++] = stripe(to[i] - 1);
+      }
+    }
+    Arrays.sort(touched, 0, count);
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinct == 0 || touched[distinct - 1] != touched[i]) {
+        touched[distinct++] = touched[i];
+      }
+    }
+
+    BitSet result = new BitSet(from.length);
+    int locked = 0;
+    try {
+      for (; locked < distinct; locked++) {
+        acquire(locks[touched[locked]]);
+      }
+      int e = epoch;
+      for (int i = 0; i < from.length; i++) {
+        if (!isValid(from[i]) || !isValid(to[i])) {
+          continue;
+        }
+        int src = from[i] - 1;
+        int dst = to[i] - 1;
+        if (!covers(src, amounts[i])) {
+          continue;
+        }
+        beforeWrite(src, e);
+        beforeWrite(dst, e);
+        balance[src] -= amounts[i];         // src == dst nets out to a balance check
+        balance[dst] += amounts[i];
+        result.set(i);
+      }
+    } finally {
+      while (locked > 0) {
+        locks[touched[--locked]].unlock();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * One leg of a {@link #post} transaction: a credit ({@code amount > 0}) or a debit
+   * ({@code amount < 0}) of one account.
+   */
+  public record Leg(int account, long amount) {
+  }
+
+  /**
+   * Atomically apply an N-account posting (payroll, split payments).
+   * <p>
+   * Legs on the same account are netted. The posting is applied in full or not at all, and
+   * other threads see either all legs or none. Every involved lock is acquired once, in
+   * ascending order, as in transferBatch(). The snapshot epoch is read once, after locking.
+   *
+   * @return false if any account does not exist, would end up past its credit limit or would
+   * overflow, with nothing changed
+   * @throws IllegalArgumentException if the legs do not sum to zero, or the legs of one
+   * account overflow when netted
+   */
+  public boolean post(Leg[] legs) {
+    long sum = 0;
+    for (Leg leg : legs) {
+      try {
+        sum = Math.addExact(sum, leg.amount());
+      } catch (ArithmeticException e) {
+        throw new IllegalArgumentException("Leg amounts overflow", e);
+      }
+    }
+    if (sum != 0) {
+      throw new IllegalArgumentException("Legs must sum to zero, got " + sum);
+    }
+    for (Leg leg : legs) {
+      if (!isValid(leg.account())) {
+        return false;
+      }
+    }
+
+    // Sort legs by account (account << 32 | leg index) to net them per account
+    long[] order = new long[legs.length];
+    for (int i = 0; i < legs.length; i++) {
+      order[i] = (long) legs[i].account() << 32 | i;
+    }
+    Arrays.sort(order);
+    int[] accounts = new int[legs.length];
+    long[] nets = new long[legs.length];
+    int distinct = 0;
+    for (long key : order) {
+      int account = (int) (key >>> 32);
+      long amount = legs[(int) key].amount();
+      if (distinct > 0 && accounts[distinct - 1] == account) {
+        try {
+          nets[distinct - 1] = Math.addExact(nets[distinct - 1], amount);
+        } catch (ArithmeticException e) {
+          throw new IllegalArgumentException("Legs of account " + account + " overflow", e);
+        }
+      } else {
+        accounts[distinct] = account;
+        nets[distinct++] = amount;
+      }
+    }
+
+    // Accounts are sorted, but stripes need their own sort when striping wraps around
+    int[] touched = new int[distinct];
+    for (int i = 0; i < distinct; i++) {
+      touched[i] = stripe(accounts[i] - 1);
+    }
+    Arrays.sort(touched);
+    int lockCount = 0;
+    for (int i = 0; i < distinct; i++) {
+      if (lockCount == 0 || touched[lockCount - 1] != touched[i]) {
+        touched[lockCount++] = touched[i];
+      }
+    }
+
+    long[] after = new long[distinct];
+    int locked = 0;
+    try {
+      for (; locked < lockCount; locked++) {
+        acquire(locks[touched[locked]]);
+      }
+      for (int i = 0; i < distinct; i++) {
+        try {
+          after[i] = Math.addExact(balance[accounts[i] - 1], nets[i]);
+        } catch (ArithmeticException e) {
+          return false;
+        }
+        if (after[i] < -creditLimit[accounts[i] - 1]) {
+          return false;
+        }
+      }
+      int e = epoch;
+      for (int i = 0; i < distinct; i++) {
+        int idx = accounts[i] - 1;
+        beforeWrite(idx, e);
+        balance[idx] = after[i];
+      }
+      return true;
+    } finally {
+      while (locked > 0) {
+        locks[touched[--locked]].unlock();
+      }
+    }
+  }
+
+  // ── Credit limits ────────────────────────────────────────────────────────
+
+  /**
+   * Set the account's credit limit. The check against the current balance and the update
+   * happen under the account's lock, so no debit can slip past a lowered limit.
+   */
+  @Override
+  public boolean setCreditLimit(int account, long limit) {
+    if (!isValid(account) || limit < 0) {
+      return false;
+    }
+    int idx = account - 1;
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
+    try {
+      if (balance[idx] < -limit) {
+        return false;
+      }
+      creditLimit[idx] = limit;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getCreditLimit(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    int idx = account - 1;
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
+    try {
+      return creditLimit[idx];
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // balance[idx] - money >= -creditLimit[idx] without overflow: the deficit is only computed
+  // once it is positive, and a wrapped (negative) deficit means it is beyond any limit.
+  // Caller holds the account's lock.
+  private boolean covers(int idx, long money) {
+    if (balance[idx] >= money) {
+      return true;
+    }
+    long deficit = money - balance[idx];
+    return deficit > 0 && deficit <= creditLimit[idx];
+  }
+
+  // ── Holds ────────────────────────────────────────────────────────────────
+
+  /**
+   * Reserve funds for a later capture or release. The balance check, debit and held-amount
+   * increase happen under the account's lock, exactly like a withdrawal.
+   */
+  @Override
+  public long reserve(int account, long money) {
+    long start = System.nanoTime();
+    long holdId = tryReserve(account, money);
+    metrics.record(BankMetrics.Op.RESERVE, start, holdId != NO_HOLD);
+    return holdId;
+  }
+
+  private long tryReserve(int account, long money) {
+    if (!isValid(account) || money < 0) {
+      return NO_HOLD;
+    }
+    int idx = account - 1;
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
+    try {
+      if (!covers(idx, money)) {
+        return NO_HOLD;
+      }
+      beforeWrite(idx, epoch);
+      balance[idx] -= money;
+      held[idx] += money;
+    } finally {
+      lock.unlock();
+    }
+    return holds.open(idx, money);
+  }
+
+  @Override
+  public boolean capture(long holdId, long money) {
+    long start = System.nanoTime();
+    return metrics.record(BankMetrics.Op.CAPTURE, start, trySettle(holdId, money));
+  }
+
+  @Override
+  public boolean release(long holdId) {
+    long start = System.nanoTime();
+    return metrics.record(BankMetrics.Op.RELEASE, start, trySettle(holdId, 0));
+  }
+
+  private boolean trySettle(long holdId, long money) {
+    int idx = holds.account(holdId);
+    long amount = idx < 0 ? -1 : holds.settle(holdId, money);
+    if (amount < 0) {
+      return false;
+    }
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
+    try {
+      held[idx] -= amount;
+      if (money < amount) {
+        beforeWrite(idx, epoch);
+        balance[idx] += amount - money;
+      }
+    } finally {
+      lock.unlock();
+    }
+    return true;
+  }
+
+  @Override
+  public long getHeld(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    int idx = account - 1;
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
+    try {
+      return held[idx];
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Current balance of the account.
+   */
+  @Override
+  public long getBalance(int account) {
+    long start = System.nanoTime();
+    if (!isValid(account)) {
+      metrics.record(BankMetrics.Op.BALANCE, start, false);
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+
+    int idx = account - 1;
+    ReentrantLock lock = locks[stripe(idx)];
+    acquire(lock);
+    try {
+      return balance[idx];
+    } finally {
+      lock.unlock();
+      metrics.record(BankMetrics.Op.BALANCE, start, true);
+    }
+  }
+
+  @Override
+  public int size() {
+    return n;
+  }
+
+  /**
+   * Live operation counters, latencies and lock-wait time of this bank.
+   */
+  public BankMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * Lock with a tryLock fast path, so only contended acquisitions pay for timing.
+   */
+  private void acquire(ReentrantLock lock) {
+    if (lock.tryLock()) {
+      return;
+    }
+    long start = System.nanoTime();
+    lock.lock();
+    metrics.recordLockWait(System.nanoTime() - start);
+  }
+
+  /**
+   * Point-in-time consistent copy of every balance, taken while writers keep running.
+   * <p>
+   * Bumps the epoch, then reads each account under its own lock: if the account was written
+   * since the bump its pre-image is used, otherwise its current balance. Each lock is held
+   * only for one read, so transfers are never paused as a whole. Snapshots are serialized.
+   */
+  @Override
+  public long[] snapshot() {
+    snapshotLock.lock();
+    try {
+      if (preImage == null) {
+        preImage = new long[n];              // allocated lazily: no cost until first use
+        preImageEpoch = new int[n];
+      }
+      int e = epoch + 1;
+      epoch = e;
+
+      long[] result = new long[n];
+      for (int idx = 0; idx < n; idx++) {
+        ReentrantLock lock = locks[stripe(idx)];
+        lock.lock();
+        try {
+          result[idx] = preImageEpoch[idx] == e ? preImage[idx] : balance[idx];
+        } finally {
+          lock.unlock();
+        }
+      }
+      return result;
+    } finally {
+      snapshotLock.unlock();
+    }
+  }
+
+  /**
+   * Save the account's pre-image for epoch e before its first write in that epoch.
+   * Caller holds the account's lock and read e after acquiring it.
+   */
+  private void beforeWrite(int idx, int e) {
+    if (e != 0 && preImageEpoch[idx] != e) {
+      preImage[idx] = balance[idx];
+      preImageEpoch[idx] = e;
+    }
+  }
 }
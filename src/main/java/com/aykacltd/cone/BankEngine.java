@@ -0,0 +1,56 @@
+package com.aykacltd.cone;
+
+/**
+ * Common contract of the bank implementations in this package (LeetCode 2043 semantics).
+ * <p>
+ * Accounts are 1-indexed. Every mutating operation returns {@code false} instead of throwing
+ * when the account does not exist or the source balance is insufficient, so callers can swap
+ * one concurrency strategy for another without touching their error handling.
+ */
+public interface BankEngine {
+
+  /**
+   * Deposit money into account.
+   * Valid if: account in [1, n].
+   */
+  boolean deposit(int account, long money);
+
+  /**
+   * Withdraw money from account.
+   * Valid if: account in [1, n] AND balance[account] >= money.
+   */
+  boolean withdraw(int account, long money);
+
+  /**
+   * Transfer money from account1 to account2.
+   * Valid if: both accounts in [1, n] AND balance[account1] >= money.
+   */
+  boolean transfer(int account1, int account2, long money);
+
+  /**
+   * Current balance of the account.
+   *
+   * @throws IllegalArgumentException if the account does not exist
+   */
+  long getBalance(int account);
+
+  /**
+   * Number of accounts; valid account ids are [1, size()].
+   */
+  int size();
+
+  /**
+   * Copy of every balance, index i holding account i + 1.
+   * <p>
+   * The default reads the accounts one at a time, so it is only a consistent point-in-time
+   * view when no writer is active (a transfer may be counted on one side only). Engines that
+   * can take a consistent snapshot while writers keep running override it.
+   */
+  default long[] snapshot() {
+    long[] balances = new long[size()];
+    for (int i = 0; i < balances.length; i++) {
+      balances[i] = getBalance(i + 1);
+    }
+    return balances;
+  }
+}
@@ -0,0 +1,146 @@
+package com.aykacltd.cone;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Always-on instrumentation shared by the lock-based engines: success/reject counters per
+ * operation, latency histograms per operation, and time spent waiting for account locks.
+ * <p>
+ * Everything on the recording path is allocation-free and avoids a single hot cache line:
+ * counters are {@link LongAdder}s and every operation has one {@link LatencyHistogram} per
+ * stripe, a thread picking its stripe by thread id. Lock waits are only timed when a
+ * {@code tryLock} fast path fails, so uncontended operations pay just the latency clock.
+ * {@link #snapshot()} merges the stripes; it is consistent per counter, not across them.
+ */
+public class BankMetrics implements BankMetricsMXBean {
+
+  public enum Op { DEPOSIT, WITHDRAW, TRANSFER, BALANCE, RESERVE, CAPTURE, RELEASE }
+
+  /**
+   * Counters of one operation; latency percentiles are histogram bucket upper bounds.
+   */
+  public record OpStats(long successes, long rejects, long p50Nanos, long p99Nanos,
+                        long p999Nanos) {
+  }
+
+  public record Snapshot(Map<Op, OpStats> ops, long contendedLockAcquisitions,
+                         long lockWaitNanos) {
+  }
+
+  private static final Op[] OPS = Op.values();
+  private static final int STRIPES =
+      Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+  private final LongAdder[] successes = adders();
+  private final LongAdder[] rejects = adders();
+  private final LatencyHistogram[][] latency = new LatencyHistogram[OPS.length][STRIPES];
+  private final LongAdder contendedLocks = new LongAdder();
+  private final LongAdder lockWaitNanos = new LongAdder();
+
+  public BankMetrics() {
+    for (LatencyHistogram[] stripes : latency) {
+      for (int s = 0; s < STRIPES; s++) {
+        stripes[s] = new LatencyHistogram();
+      }
+    }
+  }
+
+  private static LongAdder[] adders() {
+    LongAdder[] adders = new LongAdder[OPS.length];
+    for (int i = 0; i < adders.length; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+
+  // ── Recording (hot path) ─────────────────────────────────────────────────
+
+  /**
+   * Count one completed operation that started at {@code startNanos} and pass its result
+   * through.
+   */
+  boolean record(Op op, long startNanos, boolean ok) {
+    int stripe = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+    latency[op.ordinal()][stripe].record(System.nanoTime() - startNanos);
+    (ok ? successes : rejects)[op.ordinal()].increment();
+    return ok;
+  }
+
+  void recordLockWait(long nanos) {
+    contendedLocks.increment();
+    lockWaitNanos.add(nanos);
+  }
+
+  // ── Reading ──────────────────────────────────────────────────────────────
+
+  public Snapshot snapshot() {
+    Map<Op, OpStats> ops = new EnumMap<>(Op.class);
+    for (Op op : OPS) {
+      LatencyHistogram merged = merged(op);
+      ops.put(op, new OpStats(successes[op.ordinal()].sum(), rejects[op.ordinal()].sum(),
+          merged.percentile(50), merged.percentile(99), merged.percentile(99.9)));
+    }
+    return new Snapshot(ops, contendedLocks.sum(), lockWaitNanos.sum());
+  }
+
+  private LatencyHistogram merged(Op op) {
+    LatencyHistogram merged = new LatencyHistogram();
+    for (LatencyHistogram stripe : latency[op.ordinal()]) {
+      merged.add(stripe);
+    }
+    return merged;
+  }
+
+  /**
+   * Register this instance with the platform MBean server as
+   * {@code com.aykacltd.cone:type=BankMetrics,name=<name>}.
+   */
+  public ObjectName registerMBean(String name) throws JMException {
+    ObjectName objectName =
+        new ObjectName("com.aykacltd.cone:type=BankMetrics,name=" + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    return objectName;
+  }
+
+  // ── BankMetricsMXBean ────────────────────────────────────────────────────
+
+  @Override
+  public Map<String, Long> getSuccessCounts() {
+    return byOp(op -> successes[op.ordinal()].sum());
+  }
+
+  @Override
+  public Map<String, Long> getRejectCounts() {
+    return byOp(op -> rejects[op.ordinal()].sum());
+  }
+
+  @Override
+  public Map<String, Long> getP99LatencyNanos() {
+    return byOp(op -> merged(op).percentile(99));
+  }
+
+  @Override
+  public long getContendedLockAcquisitions() {
+    return contendedLocks.sum();
+  }
+
+  @Override
+  public long getLockWaitNanos() {
+    return lockWaitNanos.sum();
+  }
+
+  private static Map<String, Long> byOp(ToLongFunction<Op> value) {
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (Op op : OPS) {
+      result.put(op.name(), value.applyAsLong(op));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,19 @@
+package com.aykacltd.cone;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link BankMetrics}; maps are keyed by operation name.
+ */
+public interface BankMetricsMXBean {
+
+  Map<String, Long> getSuccessCounts();
+
+  Map<String, Long> getRejectCounts();
+
+  Map<String, Long> getP99LatencyNanos();
+
+  long getContendedLockAcquisitions();
+
+  long getLockWaitNanos();
+}
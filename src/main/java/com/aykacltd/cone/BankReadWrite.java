@@ -1,38 +1,74 @@
 package com.aykacltd.cone;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+class BankReadWrite implements BankEngine {
 
-class BankReadWrite {
-
-  private Map<Integer, AccountReadWrite> map;
+  // account k is accounts[k - 1], same dense layout as Bank
+  private final AccountReadWrite[] accounts;
+  private final BankMetrics metrics = new BankMetrics();
 
   public BankReadWrite(long[] balance) {
-    this.map = new ConcurrentHashMap<>();
+    this.accounts = new AccountReadWrite[balance.length];
     for (int i = 0; i < balance.length; i++) {
-      map.put(i + 1, new AccountReadWrite(balance[i]));
+      accounts[i] = new AccountReadWrite(balance[i], metrics);
     }
   }
 
+  private AccountReadWrite lookup(int account) {
+    return account >= 1 && account <= accounts.length ? accounts[account - 1] : null;
+  }
+
+  @Override
   public boolean transfer(int account1, int account2, long money) {
-    if (!map.containsKey(account1) || !map.containsKey(account2) ||
-        !map.get(account1).withdraw(money)) {
+    long start = System.nanoTime();
+    return metrics.record(BankMetrics.Op.TRANSFER, start,
+        tryTransfer(account1, account2, money));
+  }
+
+  private boolean tryTransfer(int account1, int account2, long money) {
+    AccountReadWrite from = lookup(account1);
+    AccountReadWrite to = lookup(account2);
+    if (from == null || to == null || !from.withdraw(money)) {
       return false;
     }
-    return map.get(account2).deposit(money);
+    return to.deposit(money);
   }
 
+  @Override
   public boolean deposit(int account, long money) {
-    if (!map.containsKey(account)) {
-      return false;
-    }
-    return map.get(account).deposit(money);
+    long start = System.nanoTime();
+    AccountReadWrite acc = lookup(account);
+    return metrics.record(BankMetrics.Op.DEPOSIT, start, acc != null && acc.deposit(money));
   }
 
+  @Override
   public boolean withdraw(int account, long money) {
-    if (!map.containsKey(account)) {
-      return false;
+    long start = System.nanoTime();
+    AccountReadWrite acc = lookup(account);
+    return metrics.record(BankMetrics.Op.WITHDRAW, start, acc != null && acc.withdraw(money));
+  }
+
+  @Override
+  public long getBalance(int account) {
+    long start = System.nanoTime();
+    AccountReadWrite acc = lookup(account);
+    if (acc == null) {
+      metrics.record(BankMetrics.Op.BALANCE, start, false);
+      throw new IllegalArgumentException("Account not found: " + account);
     }
-    return map.get(account).withdraw(money);
+    long balance = acc.getBalance();
+    metrics.record(BankMetrics.Op.BALANCE, start, true);
+    return balance;
+  }
+
+  @Override
+  public int size() {
+    return accounts.length;
+  }
+
+  /**
+   * Live operation counters, latencies and lock-wait time of this bank.
+   */
+  public BankMetrics metrics() {
+    return metrics;
   }
 }
@@ -0,0 +1,328 @@
+package com.aykacltd.cone;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, time-evicting map of recent request ids to boolean results, used to make retried
+ * requests idempotent.
+ * <p>
+ * The id space is split over a power-of-two number of shards, each behind its own lock, so
+ * unrelated requests never serialize on one monitor. A shard stores its entries in insertion
+ * order in a ring of primitive arrays (id, expiry, state) plus an open-addressing index from
+ * id to ring slot: about 30 bytes per entry and no per-entry objects. Because every entry gets
+ * the same TTL, the oldest entry is always the next to expire, and eviction just advances the
+ * ring head.
+ * <p>
+ * An id is never forgotten before its TTL: that would let an ordinary retry run twice. Rings
+ * start small and double as needed up to {@code capacity / shardCount}; size capacity as
+ * peak request rate x TTL. A shard that is full of unexpired ids rejects new ones with
+ * {@link RejectedExecutionException} (back-pressure) rather than dropping a live one.
+ * <p>
+ * A request is first {@link #claim claimed} (state PENDING); a duplicate arriving while the
+ * original is still running waits for its {@link #complete completion} instead of running
+ * twice. A PENDING entry outliving its TTL is moved to the ring tail with a fresh expiry,
+ * never evicted, so a slow original still blocks its duplicates.
+ * <p>
+ * Time:  O(1) amortized per call
+ * Space: O(ids live within the TTL), at most O(capacity)
+ */
+final class DedupCache {
+
+  /** {@link #claim} result: the caller owns the request and must complete or abandon it. */
+  static final int CLAIMED = -1;
+
+  private static final byte FALSE = 0;
+  private static final byte TRUE = 1;
+  private static final byte PENDING = 2;
+
+  private final Shard[] shards;
+  private final int shardShift;              // shard = top bits of the hash, index = low bits
+  private final long ttlNanos;
+
+  private static final int INITIAL_SHARD_CAPACITY = 256;
+
+  /**
+   * @param capacity most ids remembered at once, spread over the shards
+   */
+  DedupCache(int capacity, long ttlNanos, int shardCount) {
+    if (ttlNanos <= 0) {
+      throw new IllegalArgumentException("ttlNanos must be positive: " + ttlNanos);
+    }
+    if (shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+      throw new IllegalArgumentException("shardCount must be a positive power of two: "
+          + shardCount);
+    }
+    if (capacity < shardCount) {
+      throw new IllegalArgumentException("capacity must be at least shardCount: " + capacity);
+    }
+    this.ttlNanos = ttlNanos;
+    this.shardShift = 64 - Integer.numberOfTrailingZeros(shardCount);
+    this.shards = new Shard[shardCount];
+    for (int s = 0; s < shardCount; s++) {
+      shards[s] = new Shard(capacity / shardCount, ttlNanos);
+    }
+  }
+
+  private static long mix(long id) {
+    long h = id * 0x9E3779B97F4A7C15L;       // Fibonacci hashing spreads sequential ids
+    return h ^ (h >>> 32);
+  }
+
+  private Shard shardOf(long hash) {
+    return shards[(int) (hash >>> shardShift) & (shards.length - 1)];
+  }
+
+  /**
+   * Returns the recorded result of {@code id} (1 = true, 0 = false), or {@link #CLAIMED} if
+   * the id is new or expired and now belongs to the caller. Blocks while another caller holds
+   * the claim.
+   *
+   * @throws RejectedExecutionException if the id's shard is full of unexpired ids
+   */
+  int claim(long id) {
+    long hash = mix(id);
+    Shard shard = shardOf(hash);
+    shard.lock.lock();
+    try {
+      long now = System.nanoTime();
+      shard.expire(now);
+      int slot;
+      while ((slot = shard.find(id, hash)) >= 0 && shard.state[slot] == PENDING) {
+        shard.completed.awaitUninterruptibly();
+        now = System.nanoTime();
+        shard.expire(now);
+      }
+      if (slot >= 0) {
+        return shard.state[slot];
+      }
+      if (!shard.insert(id, hash, now + ttlNanos)) {
+        throw new RejectedExecutionException("Dedup cache full: too many request ids within "
+            + TimeUnit.NANOSECONDS.toMillis(ttlNanos) + " ms");
+      }
+      return CLAIMED;
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  /**
+   * Record the result of a claimed request and wake any duplicates waiting for it.
+   */
+  void complete(long id, boolean result) {
+    finish(id, result ? TRUE : FALSE);
+  }
+
+  /**
+   * Release a claim without a result (the request failed), so a retry runs it again.
+   */
+  void abandon(long id) {
+    finish(id, PENDING);
+  }
+
+  private void finish(long id, byte state) {
+    long hash = mix(id);
+    Shard shard = shardOf(hash);
+    shard.lock.lock();
+    try {
+      int slot = shard.find(id, hash);
+      if (slot >= 0) {
+        if (state == PENDING) {
+          shard.remove(slot);
+        } else {
+          shard.state[slot] = state;
+        }
+      }
+      shard.completed.signalAll();
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      shard.lock.lock();
+      try {
+        size += shard.size;
+      } finally {
+        shard.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  // ── Shard: ring of entries + open-addressing index ───────────────────────
+
+  private static final class Shard {
+
+    final ReentrantLock lock = new ReentrantLock();
+    final Condition completed = lock.newCondition();
+    final int maxCapacity;
+    final long ttlNanos;
+
+    // Ring in insertion order; head is the oldest live entry. A removed (abandoned) entry
+    // stays in the ring as a hole until the head passes it or the ring is rebuilt.
+    long[] ids;
+    long[] expires;
+    byte[] state;
+    boolean[] live;
+    int head;
+    int tail;
+    int size;                                // live entries
+    int used;                                // ring slots between head and tail
+
+    // index[i] = ring slot + 1, 0 = empty; linear probing, at most half full
+    int[] index;
+    int indexMask;
+
+    Shard(int maxCapacity, long ttlNanos) {
+      this.maxCapacity = maxCapacity;
+      this.ttlNanos = ttlNanos;
+      allocate(Math.min(maxCapacity, INITIAL_SHARD_CAPACITY));
+    }
+
+    private void allocate(int capacity) {
+      ids = new long[capacity];
+      expires = new long[capacity];
+      state = new byte[capacity];
+      live = new boolean[capacity];
+      int indexSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2;
+      index = new int[indexSize];
+      indexMask = indexSize - 1;
+    }
+
+    int find(long id, long hash) {
+      for (int i = (int) hash & indexMask; index[i] != 0; i = (i + 1) & indexMask) {
+        int slot = index[i] - 1;
+        if (ids[slot] == id) {
+          return slot;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Add a PENDING entry; false if the shard is at its maximum capacity with every entry
+     * still live.
+     */
+    boolean insert(long id, long hash, long expiresAt) {
+      if (used == ids.length) {
+        // Grow while at least half the ring is live; otherwise compacting the holes is enough
+        int capacity = size >= ids.length / 2 ? Math.min(ids.length * 2, maxCapacity)
+            : ids.length;
+        if (size == capacity) {
+          return false;
+        }
+        rebuild(capacity);
+      }
+      int slot = tail;
+      tail = (tail + 1) % ids.length;
+      used++;
+      size++;
+      ids[slot] = id;
+      expires[slot] = expiresAt;
+      state[slot] = PENDING;
+      live[slot] = true;
+      indexAdd(slot, mix(id));
+      return true;
+    }
+
+    void expire(long now) {
+      while (used > 0 && (!live[head] || expires[head] - now <= 0)) {
+        if (live[head] && state[head] == PENDING) {
+          renewHead(now);                    // still running: keep it, at the back
+        } else {
+          evictHead();
+        }
+      }
+    }
+
+    private void evictHead() {
+      if (live[head]) {
+        remove(head);
+      }
+      head = (head + 1) % ids.length;
+      used--;
+    }
+
+    // Move the head entry to the tail with a fresh expiry; the ring is never full here
+    // because the head slot is the one being vacated when head == tail
+    private void renewHead(long now) {
+      int from = head;
+      int to = tail;
+      head = (head + 1) % ids.length;
+      tail = (tail + 1) % ids.length;
+      if (from != to) {
+        ids[to] = ids[from];
+        state[to] = state[from];
+        live[to] = true;
+        live[from] = false;
+        int i = (int) mix(ids[to]) & indexMask;
+        while (index[i] != from + 1) {
+          i = (i + 1) & indexMask;
+        }
+        index[i] = to + 1;
+      }
+      expires[to] = now + ttlNanos;
+    }
+
+    // Copy the live entries, oldest first, into a fresh ring of the given capacity
+    private void rebuild(int capacity) {
+      long[] oldIds = ids;
+      long[] oldExpires = expires;
+      byte[] oldState = state;
+      boolean[] oldLive = live;
+      int from = head;
+      int count = used;
+      allocate(capacity);
+      size = 0;
+      for (int k = 0; k < count; k++, from = (from + 1) % oldIds.length) {
+        if (oldLive[from]) {
+          ids[size] = oldIds[from];
+          expires[size] = oldExpires[from];
+          state[size] = oldState[from];
+          live[size] = true;
+          indexAdd(size, mix(oldIds[from]));
+          size++;
+        }
+      }
+      head = 0;
+      used = size;
+      tail = size % capacity;
+    }
+
+    private void indexAdd(int slot, long hash) {
+      int i = (int) hash & indexMask;
+      while (index[i] != 0) {
+        i = (i + 1) & indexMask;
+      }
+      index[i] = slot + 1;
+    }
+
+    /**
+     * Drop the entry at ring slot {@code slot} from the index (backward-shift deletion keeps
+     * every probe chain intact without tombstones).
+     */
+    void remove(int slot) {
+      int i = (int) mix(ids[slot]) & indexMask;
+      while (index[i] != slot + 1) {
+        i = (i + 1) & indexMask;
+      }
+      int hole = i;
+      for (int j = (hole + 1) & indexMask; index[j] != 0; j = (j + 1) & indexMask) {
+        int home = (int) mix(ids[index[j] - 1]) & indexMask;
+        // Move j back into the hole unless its home lies cyclically in (hole, j]
+        if (((j - home) & indexMask) >= ((j - hole) & indexMask)) {
+          index[hole] = index[j];
+          hole = j;
+        }
+      }
+      index[hole] = 0;
+      live[slot] = false;
+      size--;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.aykacltd.cone;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Open holds of a {@link ReservingBankEngine}: lock-free and allocation-free in steady state.
+ * <p>
+ * Holds live in recycled slots of primitive arrays, allocated in chunks as the number of
+ * simultaneously open holds grows. A slot's state word carries a generation and an open bit;
+ * a hold id is {@code generation << 32 | slot}. Settling is one CAS of the state word from
+ * open to closed, so of two racing capture/release calls exactly one wins, and an id from an
+ * earlier use of the slot no longer matches its generation. Closed slots go back on a
+ * Treiber stack whose head carries a tag against ABA.
+ * <p>
+ * Generations wrap after 2^31 reuses of one slot; an id kept that long could then match a
+ * newer hold.
+ * <p>
+ * The table only records holds; the engine keeps the per-account held totals under its own
+ * synchronization.
+ */
+final class HoldTable {
+
+  private static final int CHUNK_BITS = 10;
+  private static final int CHUNK = 1 << CHUNK_BITS;
+  private static final long OPEN = 1;
+  private static final long GENERATION_MASK = 0x7FFF_FFFFL;  // keeps ids non-negative
+
+  private static final class Chunk {
+    final AtomicLongArray state = new AtomicLongArray(CHUNK);  // generation << 1 | open
+    final int[] idx = new int[CHUNK];        // written before the state publishes them
+    final long[] amount = new long[CHUNK];
+    final int[] next = new int[CHUNK];       // free-stack link
+  }
+
+  private volatile Chunk[] chunks = new Chunk[1];
+  private final AtomicInteger allocated = new AtomicInteger();
+  // Free stack head: tag << 32 | (slot + 1), slot part 0 = empty
+  private final AtomicLong free = new AtomicLong();
+
+  /**
+   * Record a new hold of {@code amount} on account index {@code idx} and return its id.
+   */
+  long open(int idx, long amount) {
+    int slot = pop();
+    if (slot < 0) {
+      slot = allocated.getAndIncrement();
+    }
+    Chunk chunk = chunkFor(slot);
+    int i = slot & (CHUNK - 1);
+    chunk.idx[i] = idx;
+    chunk.amount[i] = amount;
+    long generation = ((chunk.state.get(i) >>> 1) + 1) & GENERATION_MASK;
+    chunk.state.setRelease(i, generation << 1 | OPEN);   // publishes idx and amount
+    return generation << 32 | slot;
+  }
+
+  /**
+   * Account index of hold {@code id}, or -1 if it is not open. Read it before
+   * {@link #settle}: a successful settle proves the value belonged to this hold.
+   */
+  int account(long id) {
+    Chunk chunk = chunkOf(id);
+    if (chunk == null) {
+      return -1;
+    }
+    int i = (int) id & (CHUNK - 1);
+    return chunk.state.get(i) == expected(id) ? chunk.idx[i] : -1;
+  }
+
+  /**
+   * Close hold {@code id} if it is open and {@code money} fits in it, and return the amount it
+   * reserved; -1 otherwise (unknown, already settled, or money out of range).
+   */
+  long settle(long id, long money) {
+    Chunk chunk = chunkOf(id);
+    if (chunk == null) {
+      return -1;
+    }
+    int i = (int) id & (CHUNK - 1);
+    long open = expected(id);
+    if (chunk.state.get(i) != open) {
+      return -1;
+    }
+    long amount = chunk.amount[i];
+    if (money < 0 || money > amount || !chunk.state.compareAndSet(i, open, open & ~OPEN)) {
+      return -1;
+    }
+    push((int) id, chunk, i);
+    return amount;
+  }
+
+  private static long expected(long id) {
+    return (id >>> 32) << 1 | OPEN;
+  }
+
+  private Chunk chunkOf(long id) {
+    int slot = (int) id;
+    if (id < 0 || slot < 0 || slot >= allocated.get()) {
+      return null;
+    }
+    Chunk[] current = chunks;
+    int c = slot >>> CHUNK_BITS;
+    return c < current.length ? current[c] : null;
+  }
+
+  private Chunk chunkFor(int slot) {
+    Chunk[] current = chunks;
+    int c = slot >>> CHUNK_BITS;
+    return c < current.length && current[c] != null ? current[c] : grow(c);
+  }
+
+  // Slow path, once per CHUNK allocated slots
+  private synchronized Chunk grow(int c) {
+    Chunk[] current = chunks;
+    if (c >= current.length) {
+      current = Arrays.copyOf(current, Math.max(c + 1, current.length * 2));
+    }
+    if (current[c] == null) {
+      current[c] = new Chunk();
+    }
+    chunks = current;
+    return current[c];
+  }
+
+  // ── Free stack ───────────────────────────────────────────────────────────
+
+  private int pop() {
+    while (true) {
+      long head = free.get();
+      int top = (int) head - 1;
+      if (top < 0) {
+        return -1;
+      }
+      int next = chunks[top >>> CHUNK_BITS].next[top & (CHUNK - 1)];
+      long tag = (head >>> 32) + 1;
+      if (free.compareAndSet(head, tag << 32 | (next + 1))) {
+        return top;
+      }
+    }
+  }
+
+  private void push(int slot, Chunk chunk, int i) {
+    while (true) {
+      long head = free.get();
+      chunk.next[i] = (int) head - 1;
+      long tag = (head >>> 32) + 1;
+      if (free.compareAndSet(head, tag << 32 | (slot + 1L))) {
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.aykacltd.cone;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Makes any {@link BankEngine} durable by journaling its successful mutations.
+ * <p>
+ * Each operation is applied to the wrapped engine first; only if it succeeds is it enqueued
+ * in the {@link TransactionJournal}, and the call returns once the record is fsync'ed (group
+ * commit). Rejected operations change nothing and are not journaled. After a crash,
+ * {@link #recover} replays the journal over the opening balances and rebuilds the engine.
+ * <p>
+ * Negative amounts are rejected up front: replay treats such a record as corruption. If the
+ * journal has failed or been closed, the engine change is undone before the enqueue error is
+ * rethrown, so memory never runs ahead of the file.
+ * <p>
+ * Apply and enqueue happen under a lock per touched account (striped over
+ * {@value #STRIPES} locks, taken in stripe order), so a record always lands in the file after
+ * the records of earlier operations on the same accounts. A withdraw that a deposit made
+ * possible can therefore not be durable without that deposit, and replaying whatever prefix
+ * of the journal survived a crash yields a state that existed. The fsync wait happens after
+ * the locks are released, so concurrent callers still share one fsync.
+ */
+public class JournaledBank implements BankEngine, AutoCloseable {
+
+  private static final int STRIPES = 256;
+
+  private final BankEngine engine;
+  private final TransactionJournal journal;
+  private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+  public JournaledBank(BankEngine engine, TransactionJournal journal) {
+    this.engine = engine;
+    this.journal = journal;
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * Rebuild a bank from its opening balances plus everything in the journal file, and keep
+   * appending to the same file.
+   *
+   * @param factory creates the in-memory engine from the recovered balances
+   */
+  public static JournaledBank recover(Path journalFile, long[] opening,
+                                      Function<long[], BankEngine> factory, int batchSize,
+                                      long flushIntervalMicros) throws IOException {
+    long[] balances = TransactionJournal.replay(journalFile, opening);
+    return new JournaledBank(factory.apply(balances),
+        new TransactionJournal(journalFile, batchSize, flushIntervalMicros));
+  }
+
+  private static int stripe(int account) {
+    return account & (STRIPES - 1);
+  }
+
+  @Override
+  public boolean deposit(int account, long money) {
+    if (money < 0) {
+      return false;
+    }
+    long seq;
+    ReentrantLock lock = locks[stripe(account)];
+    lock.lock();
+    try {
+      if (!engine.deposit(account, money)) {
+        return false;
+      }
+      try {
+        seq = journal.enqueue(TransactionJournal.DEPOSIT, account, 0, money);
+      } catch (RuntimeException e) {
+        engine.withdraw(account, money);    // the lock kept everyone else off the account
+        throw e;
+      }
+    } finally {
+      lock.unlock();
+    }
+    journal.awaitDurable(seq);
+    return true;
+  }
+
+  @Override
+  public boolean withdraw(int account, long money) {
+    if (money < 0) {
+      return false;
+    }
+    long seq;
+    ReentrantLock lock = locks[stripe(account)];
+    lock.lock();
+    try {
+      if (!engine.withdraw(account, money)) {
+        return false;
+      }
+      try {
+        seq = journal.enqueue(TransactionJournal.WITHDRAW, account, 0, money);
+      } catch (RuntimeException e) {
+        engine.deposit(account, money);
+        throw e;
+      }
+    } finally {
+      lock.unlock();
+    }
+    journal.awaitDurable(seq);
+    return true;
+  }
+
+  @Override
+  public boolean transfer(int account1, int account2, long money) {
+    if (money < 0) {
+      return false;
+    }
+    if (account1 == account2) {
+      return engine.transfer(account1, account2, money);   // pure balance check, not journaled
+    }
+    long seq;
+    ReentrantLock first = locks[Math.min(stripe(account1), stripe(account2))];
+    ReentrantLock second = locks[Math.max(stripe(account1), stripe(account2))];
+    first.lock();
+    second.lock();                           // reentrant: same stripe locks twice
+    try {
+      if (!engine.transfer(account1, account2, money)) {
+        return false;
+      }
+      try {
+        seq = journal.enqueue(TransactionJournal.TRANSFER, account1, account2, money);
+      } catch (RuntimeException e) {
+        engine.transfer(account2, account1, money);
+        throw e;
+      }
+    } finally {
+      second.unlock();
+      first.unlock();
+    }
+    journal.awaitDurable(seq);
+    return true;
+  }
+
+  @Override
+  public long getBalance(int account) {
+    return engine.getBalance(account);
+  }
+
+  @Override
+  public int size() {
+    return engine.size();
+  }
+
+  @Override
+  public long[] snapshot() {
+    return engine.snapshot();
+  }
+
+  @Override
+  public void close() throws IOException {
+    journal.close();
+  }
+}
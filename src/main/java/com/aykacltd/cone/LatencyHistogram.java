@@ -0,0 +1,99 @@
+package com.aykacltd.cone;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe log-linear histogram of latencies in nanoseconds.
+ * <p>
+ * Values below 32 get an exact bucket each; above that every power of two is split into 16
+ * linear sub-buckets, so a reported percentile is within ~6% of the true value over the
+ * whole long range. Recording is one array index computation plus one atomic increment:
+ * no allocation and no locks, so it can sit on the hot path of every client.
+ * <p>
+ * Time:  O(1) record, O(buckets) percentile
+ * Space: 960 counters
+ */
+public class LatencyHistogram {
+
+  private static final int EXACT = 32;
+  private static final int SUB_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int BUCKETS = EXACT + (62 - SUB_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  public void record(long nanos) {
+    counts.getAndIncrement(indexOf(Math.max(0, nanos)));
+  }
+
+  public long count() {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Upper bound of the bucket holding the given percentile, e.g. 99.9 for p999.
+   * Returns 0 for an empty histogram.
+   */
+  public long percentile(double percentile) {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return highestValueIn(i);
+      }
+    }
+    return highestValueIn(BUCKETS - 1);
+  }
+
+  /**
+   * Add every count of {@code other} into this histogram.
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKETS; i++) {
+      long c = other.counts.get(i);
+      if (c != 0) {
+        counts.getAndAdd(i, c);
+      }
+    }
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+  }
+
+  // ── Bucket math ──────────────────────────────────────────────────────────
+
+  static int indexOf(long value) {
+    if (value < EXACT) {
+      return (int) value;
+    }
+    int msb = 63 - Long.numberOfLeadingZeros(value);
+    int shift = msb - SUB_BITS;              // value >>> shift is in [16, 31]
+    return EXACT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+  }
+
+  static long highestValueIn(int index) {
+    if (index < EXACT) {
+      return index;
+    }
+    int shift = (index - EXACT) / SUB_BUCKETS + 1;
+    long sub = (index - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((sub + 1) << shift) - 1;          // wraps to Long.MAX_VALUE for the top bucket
+  }
+}
@@ -0,0 +1,222 @@
+package com.aykacltd.cone;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Offline linearizability check of a {@link RecordingBank} history against the sequential
+ * LeetCode 2043 bank model.
+ * <p>
+ * Wing &amp; Gong search: repeatedly pick an operation that may take effect next (it was
+ * invoked before every still-pending operation returned), apply it to the model, and keep it
+ * only if the model produces the result the engine actually returned; backtrack otherwise.
+ * A memo of (set of linearized operations, model balances) pairs already explored — Lowe's
+ * refinement, as used by Knossos — cuts the exponential search down to the states that are
+ * really distinct.
+ * <p>
+ * An operation that threw ({@link RecordingBank.Operation#ambiguous()}) may or may not have
+ * taken effect before it returned: the search tries it both ways, applied with whatever
+ * result the model gives and dropped, and never requires it to be linearized.
+ * <p>
+ * The search runs on an explicit stack of frames, one per linearized operation, so long
+ * histories cannot overflow the thread stack.
+ * <p>
+ * Time:  exponential in the number of overlapping operations in the worst case
+ * Space: O(states visited * (ops + accounts)); the stack is as deep as the history
+ */
+public final class LinearizabilityChecker {
+
+  private LinearizabilityChecker() {
+  }
+
+  public static boolean isLinearizable(long[] opening, List<RecordingBank.Operation> history) {
+    return linearize(opening, history).isPresent();
+  }
+
+  /**
+   * Find a sequential order of {@code history} that respects real time and that the
+   * sequential model agrees with, starting from the {@code opening} balances.
+   *
+   * @return one valid linearization, or empty if the history is not linearizable
+   */
+  public static Optional<List<RecordingBank.Operation>> linearize(
+      long[] opening, List<RecordingBank.Operation> history) {
+    RecordingBank.Operation[] ops = history.toArray(new RecordingBank.Operation[0]);
+    Arrays.sort(ops, (a, b) -> Long.compare(a.invoked(), b.invoked()));
+    int remaining = 0;                       // operations that must still be linearized
+    for (RecordingBank.Operation op : ops) {
+      if (!op.ambiguous()) {
+        remaining++;
+      }
+    }
+    if (remaining == 0) {
+      return Optional.of(List.of());
+    }
+
+    BitSet done = new BitSet(ops.length);
+    Set<Key> seen = new HashSet<>();
+    Deque<Frame> path = new ArrayDeque<>();
+    seen.add(new Key(done, opening));
+    path.push(new Frame(ops, done, opening.clone()));
+    while (!path.isEmpty()) {
+      Frame frame = path.peek();
+      if (frame.chosen >= 0) {               // the previous move led nowhere: undo it
+        done.clear(frame.chosen);
+        if (!ops[frame.chosen].ambiguous()) {
+          remaining++;
+        }
+      }
+      long[] next = frame.nextMove(ops, done);
+      if (next == null) {
+        path.pop();
+        continue;
+      }
+      done.set(frame.chosen);
+      if (!ops[frame.chosen].ambiguous()) {
+        remaining--;
+      }
+      if (remaining == 0) {
+        return Optional.of(order(ops, path));
+      }
+      if (seen.add(new Key(done, next))) {
+        path.push(new Frame(ops, done, next));
+      }                                      // else explored from there already, and failed
+    }
+    return Optional.empty();
+  }
+
+  // Operations applied along the path, oldest first
+  private static List<RecordingBank.Operation> order(RecordingBank.Operation[] ops,
+                                                     Deque<Frame> path) {
+    List<RecordingBank.Operation> order = new ArrayList<>(path.size());
+    for (Iterator<Frame> it = path.descendingIterator(); it.hasNext(); ) {
+      Frame frame = it.next();
+      if (frame.applied) {
+        order.add(ops[frame.chosen]);
+      }
+    }
+    return List.copyOf(order);
+  }
+
+  /**
+   * One level of the search: the model state after the operations linearized so far, and the
+   * move being tried next.
+   */
+  private static final class Frame {
+
+    private final long[] state;
+    private final long firstReturn;          // no op invoked later may take effect next
+    private int candidate;
+    private boolean dropNext;                // try the candidate again as never applied
+    int chosen = -1;
+    boolean applied;
+
+    Frame(RecordingBank.Operation[] ops, BitSet done, long[] state) {
+      this.state = state;
+      long first = Long.MAX_VALUE;
+      for (int i = done.nextClearBit(0); i < ops.length; i = done.nextClearBit(i + 1)) {
+        first = Math.min(first, ops[i].returned());
+      }
+      this.firstReturn = first;
+      this.candidate = done.nextClearBit(0);
+    }
+
+    /**
+     * Pick the next operation that may take effect here and the model agrees with.
+     *
+     * @return the model state after it, or null when every move has been tried
+     */
+    long[] nextMove(RecordingBank.Operation[] ops, BitSet done) {
+      while (candidate < ops.length && ops[candidate].invoked() <= firstReturn) {
+        RecordingBank.Operation op = ops[candidate];
+        chosen = candidate;
+        if (dropNext) {
+          dropNext = false;
+          applied = false;
+          candidate = done.nextClearBit(candidate + 1);
+          return state;
+        }
+        long[] next = state.clone();
+        long result = apply(op, next);
+        applied = true;
+        if (op.ambiguous()) {
+          dropNext = true;
+          return next;
+        }
+        candidate = done.nextClearBit(candidate + 1);
+        if (result == op.result()) {
+          return next;
+        }
+      }
+      chosen = -1;
+      return null;
+    }
+  }
+
+  // ── Sequential model ─────────────────────────────────────────────────────
+
+  /**
+   * Apply {@code op} to {@code balance} (index i = account i + 1) and return the result a
+   * correct sequential bank would give, encoded like {@link RecordingBank.Operation#result()}.
+   */
+  static long apply(RecordingBank.Operation op, long[] balance) {
+    int a = op.account1() - 1;
+    int b = op.account2() - 1;
+    boolean validA = a >= 0 && a < balance.length;
+    switch (op.type()) {
+      case DEPOSIT:
+        if (!validA) {
+          return 0;
+        }
+        balance[a] += op.money();
+        return 1;
+      case WITHDRAW:
+        if (!validA || balance[a] < op.money()) {
+          return 0;
+        }
+        balance[a] -= op.money();
+        return 1;
+      case TRANSFER:
+        if (!validA || b < 0 || b >= balance.length || balance[a] < op.money()) {
+          return 0;
+        }
+        balance[a] -= op.money();
+        balance[b] += op.money();
+        return 1;
+      default:
+        return validA ? balance[a] : RecordingBank.NOT_FOUND;
+    }
+  }
+
+  private static final class Key {
+
+    private final BitSet done;
+    private final long[] state;
+    private final int hash;
+
+    Key(BitSet done, long[] state) {
+      this.done = (BitSet) done.clone();
+      this.state = state.clone();
+      this.hash = 31 * done.hashCode() + Arrays.hashCode(state);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key other && hash == other.hash && done.equals(other.done)
+          && Arrays.equals(state, other.state);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package com.aykacltd.cone;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Stress harness that drives any {@link BankEngine} from a large number of concurrent clients,
+ * each running on its own virtual thread.
+ * <p>
+ * Every client loops until the deadline: pick an operation from the configured mix, pick the
+ * account(s) uniformly or with Zipfian skew, time the call into a per-operation
+ * {@link LatencyHistogram}, then optionally sleep for the think time. Sleeping virtual
+ * threads cost no carrier, so 100k clients with a few ms of think time are cheap.
+ * <p>
+ * While the load runs, a JFR stream counts {@code jdk.VirtualThreadPinned} events: a client
+ * that blocks while it cannot unmount from its carrier (e.g. inside {@code synchronized} on
+ * JDKs before 24, or in a native frame) shows up there, which is how a
+ * {@code synchronized} engine is told apart from a {@code ReentrantLock} one (see
+ * {@code LoadGeneratorTest}, which runs that comparison).
+ */
+public class LoadGenerator {
+
+  public enum Op { DEPOSIT, WITHDRAW, TRANSFER, BALANCE }
+
+  /**
+   * @param clients           number of concurrent virtual-thread clients
+   * @param duration          how long the clients keep issuing operations
+   * @param depositPercent    share of deposits; withdraw and transfer likewise, the rest
+   *                          of the mix is balance reads
+   * @param zipfExponent      account skew; 0 means uniform
+   * @param thinkTime         pause between two operations of one client, may be zero
+   * @param pinningThreshold  minimum pinned duration reported by JFR
+   */
+  public record Config(int clients, Duration duration, int depositPercent, int withdrawPercent,
+                       int transferPercent, double zipfExponent, Duration thinkTime,
+                       Duration pinningThreshold) {
+
+    public Config {
+      if (clients <= 0) {
+        throw new IllegalArgumentException("clients must be positive: " + clients);
+      }
+      if (depositPercent < 0 || withdrawPercent < 0 || transferPercent < 0
+          || depositPercent + withdrawPercent + transferPercent > 100) {
+        throw new IllegalArgumentException("Op mix must be non-negative and add up to <= 100");
+      }
+      if (zipfExponent < 0) {
+        throw new IllegalArgumentException("zipfExponent must be >= 0: " + zipfExponent);
+      }
+    }
+
+    /**
+     * 100k clients for 5 s, 20/20/40 deposit/withdraw/transfer with 20% reads, uniform
+     * accounts, 1 ms think time.
+     */
+    public static Config defaults() {
+      return new Config(100_000, Duration.ofSeconds(5), 20, 20, 40, 0,
+          Duration.ofMillis(1), Duration.ofMillis(1));
+    }
+  }
+
+  /**
+   * Outcome of one run.
+   *
+   * @param ops          completed operations, including rejected ones
+   * @param rejected     operations that returned {@code false}
+   * @param latencies    per-operation latency histograms in nanoseconds
+   * @param pinnedEvents number of {@code jdk.VirtualThreadPinned} events seen
+   */
+  public record Report(long ops, long rejected, Duration elapsed,
+                       Map<Op, LatencyHistogram> latencies, long pinnedEvents) {
+
+    public double opsPerSecond() {
+      return ops / (elapsed.toNanos() / 1e9);
+    }
+
+    public LatencyHistogram overall() {
+      LatencyHistogram all = new LatencyHistogram();
+      latencies.values().forEach(all::add);
+      return all;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      sb.append(String.format("%,d ops in %d ms = %,.0f ops/s, %,d rejected, %d pinned%n",
+          ops, elapsed.toMillis(), opsPerSecond(), rejected, pinnedEvents));
+      sb.append(String.format("  %-8s %10s %10s %10s %10s%n", "op", "count", "p50 us",
+          "p99 us", "p999 us"));
+      latencies.forEach((op, h) -> appendRow(sb, op.name(), h));
+      appendRow(sb, "ALL", overall());
+      return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String name, LatencyHistogram h) {
+      sb.append(String.format("  %-8s %,10d %10.1f %10.1f %10.1f%n", name, h.count(),
+          h.percentile(50) / 1e3, h.percentile(99) / 1e3, h.percentile(99.9) / 1e3));
+    }
+  }
+
+  /**
+   * Run the configured load against {@code bank} and block until every client has finished.
+   */
+  public static Report run(BankEngine bank, Config config) throws InterruptedException {
+    int n = bank.size();
+    ZipfianGenerator zipf = config.zipfExponent() > 0
+        ? new ZipfianGenerator(n, config.zipfExponent()) : null;
+    Map<Op, LatencyHistogram> latencies = new EnumMap<>(Op.class);
+    for (Op op : Op.values()) {
+      latencies.put(op, new LatencyHistogram());
+    }
+    LongAdder ops = new LongAdder();
+    LongAdder rejected = new LongAdder();
+    LongAdder pinned = new LongAdder();
+
+    long start;
+    long elapsed;
+    try (RecordingStream jfr = new RecordingStream()) {
+      jfr.enable("jdk.VirtualThreadPinned").withThreshold(config.pinningThreshold());
+      jfr.onEvent("jdk.VirtualThreadPinned", event -> pinned.increment());
+      jfr.startAsync();
+
+      start = System.nanoTime();
+      long deadline = start + config.duration().toNanos();
+      try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int c = 0; c < config.clients(); c++) {
+          clients.submit(() -> {
+            client(bank, config, n, zipf, deadline, latencies, ops, rejected);
+            return null;
+          });
+        }
+      }                                      // close() waits for all clients
+      elapsed = System.nanoTime() - start;
+      jfr.stop();                            // flushes pending events to the handler
+    }
+    return new Report(ops.sum(), rejected.sum(), Duration.ofNanos(elapsed), latencies,
+        pinned.sum());
+  }
+
+  private static void client(BankEngine bank, Config config, int n, ZipfianGenerator zipf,
+                             long deadline, Map<Op, LatencyHistogram> latencies,
+                             LongAdder ops, LongAdder rejected) throws InterruptedException {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int withdrawFrom = config.depositPercent();
+    int transferFrom = withdrawFrom + config.withdrawPercent();
+    int balanceFrom = transferFrom + config.transferPercent();
+    boolean think = !config.thinkTime().isZero();
+    do {                                     // a late-starting client still issues one op
+      int roll = random.nextInt(100);
+      Op op = roll < withdrawFrom ? Op.DEPOSIT
+          : roll < transferFrom ? Op.WITHDRAW
+          : roll < balanceFrom ? Op.TRANSFER
+          : Op.BALANCE;
+      int account = nextAccount(random, n, zipf);
+      long money = random.nextInt(1, 100);
+
+      long t0 = System.nanoTime();
+      boolean ok = switch (op) {
+        case DEPOSIT -> bank.deposit(account, money);
+        case WITHDRAW -> bank.withdraw(account, money);
+        case TRANSFER -> bank.transfer(account, nextAccount(random, n, zipf), money);
+        case BALANCE -> bank.getBalance(account) >= 0;
+      };
+      latencies.get(op).record(System.nanoTime() - t0);
+      ops.increment();
+      if (!ok) {
+        rejected.increment();
+      }
+      if (think) {
+        Thread.sleep(config.thinkTime());
+      }
+    } while (System.nanoTime() < deadline);
+  }
+
+  private static int nextAccount(ThreadLocalRandom random, int n, ZipfianGenerator zipf) {
+    return zipf != null ? zipf.next() : random.nextInt(n) + 1;
+  }
+
+  // ── Entry point ──────────────────────────────────────────────────────────
+
+  /**
+   * Runs the default load against {@link BankClaude} and against {@link Question4.Bank} with
+   * auditing off and on. Optional arguments: number of clients, duration in seconds, Zipf
+   * exponent.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    Config defaults = Config.defaults();
+    Config config = new Config(
+        args.length > 0 ? Integer.parseInt(args[0]) : defaults.clients(),
+        args.length > 1 ? Duration.ofSeconds(Long.parseLong(args[1])) : defaults.duration(),
+        defaults.depositPercent(), defaults.withdrawPercent(), defaults.transferPercent(),
+        args.length > 2 ? Double.parseDouble(args[2]) : defaults.zipfExponent(),
+        defaults.thinkTime(), defaults.pinningThreshold());
+
+    long[] balances = new long[1024];
+    Arrays.fill(balances, 1_000_000);
+    try (Question4.AsyncAuditLog audit =
+             new Question4.AsyncAuditLog(new PrintStream(OutputStream.nullOutputStream()), 8192)) {
+      Map<String, Function<long[], BankEngine>> engines = new LinkedHashMap<>();
+      engines.put("BankClaude (ReentrantLock)", BankClaude::new);
+      engines.put("Question4.Bank (per-account locks)",
+          b -> question4(b, Question4.AuditLog.NONE));
+      engines.put("Question4.Bank (async audit log)", b -> question4(b, audit));
+      for (Map.Entry<String, Function<long[], BankEngine>> engine : engines.entrySet()) {
+        System.out.println("=== " + engine.getKey() + " ===");
+        System.out.println(run(engine.getValue().apply(balances.clone()), config));
+      }
+    }
+  }
+
+  private static BankEngine question4(long[] balances, Question4.AuditLog audit) {
+    Question4.Bank bank = new Question4.Bank("LoadGenerator", audit);
+    for (int i = 0; i < balances.length; i++) {
+      bank.createAccount("Owner" + (i + 1), balances[i]);
+    }
+    return bank;
+  }
+}
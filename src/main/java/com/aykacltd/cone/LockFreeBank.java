@@ -0,0 +1,196 @@
+package com.aykacltd.cone;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LeetCode 2043 - Simple Bank System, lock-free variant
+ * <p>
+ * Thread-Safety Strategy:
+ * - Balances live in an {@link AtomicLongArray}; no thread ever blocks.
+ * - withdraw() is a CAS loop that only publishes a new balance if it is
+ * still >= -creditLimit, so an account can never go past its credit limit.
+ * Limits sit in their own atomic array and are read once per debit: a debit
+ * already in flight when setCreditLimit() lowers a limit may still use the
+ * old one.
+ * - deposit() is a single atomic add (it can never fail).
+ * - transfer() debits the source with the same CAS loop and then credits
+ * the destination. Once the debit succeeds the credit cannot fail, so a
+ * transfer is all-or-nothing; a concurrent reader may briefly observe the
+ * money "in flight" between the two accounts, but once writers are quiescent
+ * the total is always conserved.
+ * - Holds: reserve() takes the money with the same CAS debit, so the overdraft
+ * check is the one withdraw() uses, and then adds it to a second atomic array
+ * of held amounts. Settling a hold is decided by removing it from the
+ * {@link HoldTable}; only the winner touches the counters. As with transfer,
+ * the money is briefly in neither counter.
+ * - Hold cost: holds miss the target of staying within 20% of a plain
+ * withdraw() by about 3x, 47 ns against 15 ns per call in {@code HoldBenchmark}.
+ * A withdrawal is one CAS, while a reserve/settle pair also claims and frees a
+ * HoldTable slot and moves the held counter, about four more atomics.
+ * BankClaude, where the lock dominates, meets the target.
+ * <p>
+ * Time:  O(1) per operation (expected, retries only under contention)
+ * Space: O(n) for the balances array, no lock objects
+ */
+public class LockFreeBank implements ReservingBankEngine {
+
+  private final AtomicLongArray balance;
+  private final AtomicLongArray held;
+  private final AtomicLongArray creditLimit;
+  private final HoldTable holds = new HoldTable();
+  private final int n;
+
+  public LockFreeBank(long[] balance) {
+    this.n = balance.length;
+    this.balance = new AtomicLongArray(balance);   // copies the input
+    this.held = new AtomicLongArray(n);
+    this.creditLimit = new AtomicLongArray(n);
+  }
+
+  private boolean isValid(int account) {
+    return account >= 1 && account <= n;     // accounts are 1-indexed
+  }
+
+  /**
+   * Deposit money into account.
+   * Valid if: account in [1, n].
+   */
+  @Override
+  public boolean deposit(int account, long money) {
+    if (!isValid(account)) {
+      return false;
+    }
+    balance.getAndAdd(account - 1, money);
+    return true;
+  }
+
+  /**
+   * Withdraw money from account.
+   * Valid if: account in [1, n] AND balance[account] - money >= -creditLimit[account].
+   */
+  @Override
+  public boolean withdraw(int account, long money) {
+    if (!isValid(account)) {
+      return false;
+    }
+    return tryDebit(account - 1, money);
+  }
+
+  /**
+   * Transfer money from account1 to account2.
+   * Valid if: both accounts in [1, n] AND balance[account1] - money >= -creditLimit[account1].
+   */
+  @Override
+  public boolean transfer(int account1, int account2, long money) {
+    if (!isValid(account1) || !isValid(account2)) {
+      return false;
+    }
+    if (account1 == account2) {
+      // Same account: just validate balance, no net change needed
+      return covers(balance.get(account1 - 1), money, creditLimit.get(account1 - 1));
+    }
+    if (!tryDebit(account1 - 1, money)) {
+      return false;
+    }
+    balance.getAndAdd(account2 - 1, money);
+    return true;
+  }
+
+  /**
+   * Current balance of the account.
+   */
+  @Override
+  public long getBalance(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    return balance.get(account - 1);
+  }
+
+  // ── Credit limits ────────────────────────────────────────────────────────
+
+  @Override
+  public boolean setCreditLimit(int account, long limit) {
+    if (!isValid(account) || limit < 0 || balance.get(account - 1) < -limit) {
+      return false;
+    }
+    creditLimit.set(account - 1, limit);
+    return true;
+  }
+
+  @Override
+  public long getCreditLimit(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    return creditLimit.get(account - 1);
+  }
+
+  // ── Holds ────────────────────────────────────────────────────────────────
+
+  @Override
+  public long reserve(int account, long money) {
+    if (!isValid(account) || money < 0 || !tryDebit(account - 1, money)) {
+      return NO_HOLD;
+    }
+    held.getAndAdd(account - 1, money);
+    return holds.open(account - 1, money);
+  }
+
+  @Override
+  public boolean capture(long holdId, long money) {
+    int idx = holds.account(holdId);
+    long amount = idx < 0 ? -1 : holds.settle(holdId, money);
+    if (amount < 0) {
+      return false;
+    }
+    held.getAndAdd(idx, -amount);
+    if (money < amount) {
+      balance.getAndAdd(idx, amount - money);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean release(long holdId) {
+    return capture(holdId, 0);
+  }
+
+  @Override
+  public long getHeld(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    return held.get(account - 1);
+  }
+
+  // ── CAS helper ───────────────────────────────────────────────────────────
+
+  private boolean tryDebit(int idx, long money) {
+    long limit = creditLimit.get(idx);
+    long current = balance.get(idx);
+    while (covers(current, money, limit)) {
+      long witness = balance.compareAndExchange(idx, current, current - money);
+      if (witness == current) {
+        return true;
+      }
+      current = witness;                     // lost the race, retry with fresh value
+    }
+    return false;
+  }
+
+  // current - money >= -limit without overflow: the deficit is only computed once it is
+  // positive, and a wrapped (negative) deficit means it is beyond any limit.
+  private static boolean covers(long current, long money, long limit) {
+    if (current >= money) {
+      return true;
+    }
+    long deficit = money - current;
+    return deficit > 0 && deficit <= limit;
+  }
+
+  @Override
+  public int size() {
+    return n;
+  }
+}
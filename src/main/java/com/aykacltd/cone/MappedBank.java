@@ -0,0 +1,195 @@
+package com.aykacltd.cone;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * LeetCode 2043 - Simple Bank System, off-heap and file-backed
+ * <p>
+ * Balances are stored as little-endian longs in a memory-mapped file (account k at byte
+ * offset 8 * (k - 1)), so a bank with hundreds of millions of accounts "starts" by mapping
+ * the file and puts no balance data on the Java heap.
+ * <p>
+ * Thread-Safety Strategy (same as {@link LockFreeBank}):
+ * - Every update is a VarHandle atomic on the mapped buffer; no thread ever blocks.
+ * - withdraw() is a CAS loop that never publishes a negative balance.
+ * - transfer() debits the source with the same CAS loop and then credits the destination,
+ * so it is all-or-nothing.
+ * <p>
+ * A single MappedByteBuffer is limited to 2 GiB, so the file is mapped as a series of
+ * 1 GiB windows. Changes reach the file when the OS writes the pages back; call
+ * {@link #flush()} (or {@link #close()}) to force them to disk.
+ * <p>
+ * Not crash-consistent: the file is a cache of the balances, not a log. A transfer is two
+ * separate stores, and page write-back follows no order, so a process or machine that dies
+ * mid-transfer can leave the debit on disk without the credit, or the reverse. A later
+ * {@link #flush()} makes that torn state durable, and {@link #open} cannot detect it. When
+ * a crash must not lose or create money, wrap an engine in {@link JournaledBank}, which
+ * journals every mutation and replays it on recovery.
+ * <p>
+ * Time:  O(1) per operation
+ * Space: O(1) heap, O(n) file / page cache
+ */
+public class MappedBank implements BankEngine, AutoCloseable {
+
+  private static final VarHandle LONGS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  // 2^27 longs = 1 GiB per window, comfortably below the 2 GiB mapping limit
+  private static final int WINDOW_SHIFT = 27;
+  private static final int WINDOW_MASK = (1 << WINDOW_SHIFT) - 1;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] windows;
+  private final int n;
+
+  private MappedBank(FileChannel channel, int n) throws IOException {
+    this.channel = channel;
+    this.n = n;
+    int windowCount = (int) (((long) n + WINDOW_MASK) >>> WINDOW_SHIFT);
+    this.windows = new MappedByteBuffer[windowCount];
+    for (int w = 0; w < windowCount; w++) {
+      long first = (long) w << WINDOW_SHIFT;
+      long accounts = Math.min(1L << WINDOW_SHIFT, n - first);
+      windows[w] = channel.map(FileChannel.MapMode.READ_WRITE, first * Long.BYTES,
+          accounts * Long.BYTES);
+    }
+  }
+
+  /**
+   * Create (or overwrite) the ledger file with the given opening balances.
+   */
+  public static MappedBank create(Path file, long[] balance) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      MappedBank bank = new MappedBank(channel, balance.length);
+      for (int i = 0; i < balance.length; i++) {
+        LONGS.set(bank.window(i), offset(i), balance[i]);
+      }
+      return bank;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Map an existing ledger file; the number of accounts is derived from its size.
+   */
+  public static MappedBank open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      long size = channel.size();
+      if (size % Long.BYTES != 0 || size / Long.BYTES > Integer.MAX_VALUE) {
+        throw new IOException("Not a ledger file (size " + size + "): " + file);
+      }
+      return new MappedBank(channel, (int) (size / Long.BYTES));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private MappedByteBuffer window(int idx) {
+    return windows[idx >>> WINDOW_SHIFT];
+  }
+
+  private static int offset(int idx) {
+    return (idx & WINDOW_MASK) << 3;
+  }
+
+  private boolean isValid(int account) {
+    return account >= 1 && account <= n;     // accounts are 1-indexed
+  }
+
+  @Override
+  public int size() {
+    return n;
+  }
+
+  @Override
+  public boolean deposit(int account, long money) {
+    if (!isValid(account)) {
+      return false;
+    }
+    int idx = account - 1;
+    LONGS.getAndAdd(window(idx), offset(idx), money);
+    return true;
+  }
+
+  @Override
+  public boolean withdraw(int account, long money) {
+    if (!isValid(account)) {
+      return false;
+    }
+    return tryDebit(account - 1, money);
+  }
+
+  @Override
+  public boolean transfer(int account1, int account2, long money) {
+    if (!isValid(account1) || !isValid(account2)) {
+      return false;
+    }
+    if (account1 == account2) {
+      // Same account: just validate balance, no net change needed
+      return read(account1 - 1) >= money;
+    }
+    if (!tryDebit(account1 - 1, money)) {
+      return false;
+    }
+    int dst = account2 - 1;
+    LONGS.getAndAdd(window(dst), offset(dst), money);
+    return true;
+  }
+
+  @Override
+  public long getBalance(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    return read(account - 1);
+  }
+
+  /**
+   * Force all balance changes made so far to the storage device.
+   */
+  public void flush() {
+    for (MappedByteBuffer window : windows) {
+      window.force();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    channel.close();
+  }
+
+  // ── VarHandle helpers ────────────────────────────────────────────────────
+
+  private long read(int idx) {
+    return (long) LONGS.getVolatile(window(idx), offset(idx));
+  }
+
+  private boolean tryDebit(int idx, long money) {
+    MappedByteBuffer window = window(idx);
+    int offset = offset(idx);
+    long current = (long) LONGS.getVolatile(window, offset);
+    while (current >= money) {
+      long witness = (long) LONGS.compareAndExchange(window, offset, current, current - money);
+      if (witness == current) {
+        return true;
+      }
+      current = witness;                     // lost the race, retry with fresh value
+    }
+    return false;
+  }
+}
@@ -1,29 +1,49 @@
 package com.aykacltd.cone;
 
-import java.util.HashMap;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Small bank service with named accounts.
+ * <p>
+ * Amounts are fixed-point {@code long} cents, so 0.10 + 0.20 is exactly 0.30. Accounts are
+ * found by id in a {@link ConcurrentHashMap} and by creation number in an array, both O(1)
+ * and without a bank-wide lock. Ids come from a per-bank sequence, hex-encoded to the usual
+ * 8 characters: unique by construction and far cheaper than a random UUID.
+ * <p>
+ * Each account has its own lock. A transfer locks both accounts in creation order, so two
+ * opposite transfers can never deadlock. Balances are volatile: a read needs no lock.
+ * <p>
+ * Every operation can be reported to an {@link AuditLog}. The default {@link AuditLog#NONE}
+ * costs nothing, {@link AuditLog#console()} prints inline, and {@link AsyncAuditLog} moves
+ * formatting and I/O to a background writer.
+ */
 public class Question4 {
 
-  // ── Domain Model ─────────────────────────────────────────────────────────
+  // ── Demo ─────────────────────────────────────────────────────────────────
 
   public static void main(String[] args) {
-    Bank bank = new Bank("JavaBank");
+    Bank bank = new Bank("JavaBank", AuditLog.console());
 
-    Account alice = bank.createAccount("Alice", 1000.00);
-    Account bob = bank.createAccount("Bob", 500.00);
+    Account alice = bank.createAccount("Alice", 1000_00);
+    Account bob = bank.createAccount("Bob", 500_00);
 
     System.out.println();
     bank.checkBalance(alice.getId());
     bank.checkBalance(bob.getId());
 
     System.out.println();
-    bank.deposit(alice.getId(), 250.00);
-    bank.withdraw(bob.getId(), 100.00);
+    bank.deposit(alice.getId(), 250_00);
+    bank.withdraw(bob.getId(), 100_00);
 
     System.out.println();
-    bank.transfer(alice.getId(), bob.getId(), 300.00);
+    bank.transfer(alice.getId(), bob.getId(), 300_00);
 
     System.out.println();
     bank.checkBalance(alice.getId());
@@ -32,121 +52,380 @@ public class Question4 {
     // Edge-case: insufficient funds
     System.out.println();
     try {
-      bank.withdraw(bob.getId(), 9999.00);
+      bank.withdraw(bob.getId(), 9999_00);
     } catch (IllegalStateException e) {
       System.out.println("Caught expected error: " + e.getMessage());
     }
   }
 
-  // ── BankClaude Service ─────────────────────────────────────────────────────────
+  /**
+   * Format cents as a decimal amount, e.g. {@code 123456 -> "1234.56"}.
+   */
+  static String formatCents(long cents) {
+    long units = Math.abs(cents / 100);
+    long rest = Math.abs(cents % 100);
+    return (cents < 0 ? "-" : "") + units + (rest < 10 ? ".0" : ".") + rest;
+  }
+
+  // ── Domain Model ─────────────────────────────────────────────────────────
 
   static class Account {
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
     private final String id;
+    private final int number;                // 1-based creation order
     private final String owner;
-    private double balance;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long balance;           // cents; written under lock
 
-    Account(String owner, double initialDeposit) {
-      if (initialDeposit < 0) {
+    Account(int number, String owner, long initialCents) {
+      if (initialCents < 0) {
         throw new IllegalArgumentException("Initial deposit cannot be negative.");
       }
-      this.id = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+      this.id = HEX.toHexDigits(number);
+      this.number = number;
       this.owner = owner;
-      this.balance = initialDeposit;
+      this.balance = initialCents;
     }
 
     String getId() {
       return id;
     }
 
+    int getNumber() {
+      return number;
+    }
+
     String getOwner() {
       return owner;
     }
 
-    double getBalance() {
+    long getBalance() {
       return balance;
     }
 
-    void deposit(double amount) {
-      if (amount <= 0) {
-        throw new IllegalArgumentException("Deposit amount must be positive.");
-      }
-      balance += amount;
+    @Override
+    public String toString() {
+      return "Account[id=" + id + ", owner=" + owner + ", balance=" + formatCents(balance) + "]";
+    }
+  }
+
+  // ── Audit log ────────────────────────────────────────────────────────────
+
+  enum Event { CREATED, DEPOSIT, WITHDRAW, TRANSFER, BALANCE }
+
+  /**
+   * One completed operation. {@code counterparty} is the target of a transfer, null otherwise;
+   * {@code balanceCents} is the (source) balance right after the operation.
+   */
+  record Entry(String bank, Event event, String account, String counterparty,
+               long amountCents, long balanceCents) {
+
+    String describe() {
+      return switch (event) {
+        case CREATED -> String.format("[%s] Account created: %s, balance %s",
+            bank, account, formatCents(balanceCents));
+        case DEPOSIT -> String.format("[%s] Deposited %s to %s. New balance: %s",
+            bank, formatCents(amountCents), account, formatCents(balanceCents));
+        case WITHDRAW -> String.format("[%s] Withdrew %s from %s. New balance: %s",
+            bank, formatCents(amountCents), account, formatCents(balanceCents));
+        case TRANSFER -> String.format("[%s] Transferred %s from %s to %s.",
+            bank, formatCents(amountCents), account, counterparty);
+        case BALANCE -> String.format("[%s] Balance for %s: %s",
+            bank, account, formatCents(balanceCents));
+      };
+    }
+  }
+
+  @FunctionalInterface
+  interface AuditLog {
+
+    /** Logging off: the bank does not even build the entries. */
+    AuditLog NONE = entry -> { };
+
+    void record(Entry entry);
+
+    /** Synchronous logging to stdout, formatted on the caller's thread. */
+    static AuditLog console() {
+      return entry -> System.out.println(entry.describe());
+    }
+  }
+
+  /**
+   * Audit log that hands entries to a single background writer through a bounded queue.
+   * Callers only pay for an enqueue; when the writer falls {@code capacity} entries behind,
+   * callers wait rather than drop entries, so the audit trail stays complete.
+   */
+  static final class AsyncAuditLog implements AuditLog, AutoCloseable {
+    private static final Entry STOP = new Entry(null, null, null, null, 0, 0);
+
+    private final BlockingQueue<Entry> queue;
+    private final PrintStream out;
+    private final Thread writer;
+
+    AsyncAuditLog(PrintStream out, int capacity) {
+      this.queue = new ArrayBlockingQueue<>(capacity);
+      this.out = out;
+      this.writer = Thread.ofPlatform().daemon().name("audit-writer").start(this::drain);
     }
 
-    void withdraw(double amount) {
-      if (amount <= 0) {
-        throw new IllegalArgumentException("Withdrawal amount must be positive.");
+    @Override
+    public void record(Entry entry) {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          queue.put(entry);
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;                // keep the entry, restore the flag afterwards
+        }
       }
-      if (amount > balance) {
-        throw new IllegalStateException("Insufficient funds.");
+      if (interrupted) {
+        Thread.currentThread().interrupt();
       }
-      balance -= amount;
     }
 
+    private void drain() {
+      try {
+        for (Entry entry = queue.take(); entry != STOP; entry = queue.take()) {
+          out.println(entry.describe());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      out.flush();
+    }
+
+    /**
+     * Write every entry recorded so far and stop the writer. Not interruptible, like
+     * {@link #record}: an interrupt received meanwhile is restored on return.
+     */
     @Override
-    public String toString() {
-      return String.format("Account[id=%s, owner=%s, balance=%.2f]", id, owner, balance);
+    public void close() {
+      record(STOP);
+      boolean interrupted = false;
+      while (true) {
+        try {
+          writer.join();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
     }
   }
 
-  // ── Demo ─────────────────────────────────────────────────────────────────
+  // ── Bank Service ─────────────────────────────────────────────────────────
 
-  static class Bank {
+  static class Bank implements BankEngine {
     private final String name;
-    private final Map<String, Account> accounts = new HashMap<>();
+    private final AuditLog audit;
+    private final boolean audited;
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    // Account number k (1-indexed) is byNumber[k - 1]; published by the volatile count
+    private volatile Account[] byNumber = new Account[16];
+    private volatile int count;
 
     Bank(String name) {
+      this(name, AuditLog.NONE);
+    }
+
+    Bank(String name, AuditLog audit) {
       this.name = name;
+      this.audit = audit;
+      this.audited = audit != AuditLog.NONE;
     }
 
     /**
-     * Create a new account and return it.
+     * Create a new account with an opening balance in cents and return it.
      */
-    Account createAccount(String owner, double initialDeposit) {
-      Account acc = new Account(owner, initialDeposit);
+    synchronized Account createAccount(String owner, long initialCents) {
+      Account acc = new Account(count + 1, owner, initialCents);
+      Account[] table = byNumber;
+      if (count == table.length) {
+        table = Arrays.copyOf(table, table.length * 2);
+        byNumber = table;
+      }
+      table[count] = acc;
       accounts.put(acc.getId(), acc);
-      System.out.printf("[%s] Account created: %s%n", name, acc);
+      count = acc.getNumber();               // publishes the slot to lock-free readers
+      log(Event.CREATED, acc, null, initialCents);
       return acc;
     }
 
     /**
-     * Deposit money into an account.
+     * Deposit a positive number of cents into an account.
      */
-    void deposit(String accountId, double amount) {
-      Account acc = getAccount(accountId);
-      acc.deposit(amount);
-      System.out.printf("[%s] Deposited %.2f to %s. New balance: %.2f%n",
-          name, amount, accountId, acc.getBalance());
+    void deposit(String accountId, long cents) {
+      requirePositive(cents, "Deposit");
+      credit(getAccount(accountId), cents);
     }
 
     /**
-     * Withdraw money from an account.
+     * Withdraw a positive number of cents from an account.
      */
-    void withdraw(String accountId, double amount) {
-      Account acc = getAccount(accountId);
-      acc.withdraw(amount);
-      System.out.printf("[%s] Withdrew %.2f from %s. New balance: %.2f%n",
-          name, amount, accountId, acc.getBalance());
+    void withdraw(String accountId, long cents) {
+      requirePositive(cents, "Withdrawal");
+      if (!debit(getAccount(accountId), cents)) {
+        throw new IllegalStateException("Insufficient funds.");
+      }
     }
 
     /**
      * Transfer funds between two accounts atomically.
      */
-    void transfer(String fromId, String toId, double amount) {
-      Account from = getAccount(fromId);
-      Account to = getAccount(toId);
-      from.withdraw(amount);
-      to.deposit(amount);
-      System.out.printf("[%s] Transferred %.2f from %s to %s.%n", name, amount, fromId, toId);
+    void transfer(String fromId, String toId, long cents) {
+      requirePositive(cents, "Transfer");
+      if (!move(getAccount(fromId), getAccount(toId), cents)) {
+        throw new IllegalStateException("Insufficient funds.");
+      }
     }
 
     /**
-     * Print balance for an account.
+     * Return the balance of an account in cents.
      */
-    void checkBalance(String accountId) {
+    long checkBalance(String accountId) {
       Account acc = getAccount(accountId);
-      System.out.printf("[%s] Balance for %s (%s): %.2f%n",
-          name, acc.getOwner(), accountId, acc.getBalance());
+      long balance = acc.balance;
+      log(Event.BALANCE, acc, null, 0);
+      return balance;
+    }
+
+    // ── BankEngine view: accounts numbered by creation order ──────────────
+
+    @Override
+    public boolean deposit(int account, long money) {
+      Account acc = getAccount(account);
+      if (acc == null) {
+        return false;
+      }
+      credit(acc, money);
+      return true;
+    }
+
+    @Override
+    public boolean withdraw(int account, long money) {
+      Account acc = getAccount(account);
+      return acc != null && debit(acc, money);
+    }
+
+    @Override
+    public boolean transfer(int account1, int account2, long money) {
+      Account from = getAccount(account1);
+      Account to = getAccount(account2);
+      return from != null && to != null && move(from, to, money);
+    }
+
+    @Override
+    public long getBalance(int account) {
+      Account acc = getAccount(account);
+      if (acc == null) {
+        throw new IllegalArgumentException("Account not found: " + account);
+      }
+      return acc.balance;
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+
+    /**
+     * Balances of all accounts at one instant: every account is locked (in creation order)
+     * while they are read.
+     */
+    @Override
+    public long[] snapshot() {
+      int n = count;
+      Account[] table = byNumber;
+      for (int i = 0; i < n; i++) {
+        table[i].lock.lock();
+      }
+      try {
+        long[] balances = new long[n];
+        for (int i = 0; i < n; i++) {
+          balances[i] = table[i].balance;
+        }
+        return balances;
+      } finally {
+        for (int i = n - 1; i >= 0; i--) {
+          table[i].lock.unlock();
+        }
+      }
+    }
+
+    // ── Core operations, shared by both APIs ──────────────────────────────
+
+    private void credit(Account acc, long cents) {
+      long balance;
+      acc.lock.lock();
+      try {
+        balance = acc.balance += cents;
+      } finally {
+        acc.lock.unlock();
+      }
+      log(Event.DEPOSIT, acc, null, cents, balance);
+    }
+
+    private boolean debit(Account acc, long cents) {
+      long balance;
+      acc.lock.lock();
+      try {
+        if (acc.balance < cents) {
+          return false;
+        }
+        balance = acc.balance -= cents;
+      } finally {
+        acc.lock.unlock();
+      }
+      log(Event.WITHDRAW, acc, null, cents, balance);
+      return true;
+    }
+
+    private boolean move(Account from, Account to, long cents) {
+      // Lower account number first, so opposite transfers cannot deadlock
+      Account first = from.number <= to.number ? from : to;
+      Account second = first == from ? to : from;
+      long balance;
+      first.lock.lock();
+      second.lock.lock();                    // reentrant, so from == to is fine
+      try {
+        if (from.balance < cents) {
+          return false;
+        }
+        from.balance -= cents;
+        to.balance += cents;
+        balance = from.balance;
+      } finally {
+        second.lock.unlock();
+        first.lock.unlock();
+      }
+      log(Event.TRANSFER, from, to, cents, balance);
+      return true;
+    }
+
+    private void log(Event event, Account acc, Account other, long cents) {
+      log(event, acc, other, cents, acc.balance);
+    }
+
+    private void log(Event event, Account acc, Account other, long cents, long balance) {
+      if (audited) {
+        audit.record(new Entry(name, event, acc.getId(),
+            other == null ? null : other.getId(), cents, balance));
+      }
+    }
+
+    private static void requirePositive(long cents, String what) {
+      if (cents <= 0) {
+        throw new IllegalArgumentException(what + " amount must be positive.");
+      }
+    }
+
+    private Account getAccount(int number) {
+      return number >= 1 && number <= count ? byNumber[number - 1] : null;
     }
 
     private Account getAccount(String id) {
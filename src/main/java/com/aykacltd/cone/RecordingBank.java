@@ -0,0 +1,171 @@
+package com.aykacltd.cone;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the history of every call made to a {@link BankEngine}: operation, arguments,
+ * result, and invocation/response timestamps.
+ * <p>
+ * Timestamps come from one shared logical clock that is ticked right before the call enters
+ * the engine and right after it returns. If operation A's response stamp is smaller than B's
+ * invocation stamp, A really finished before B started; overlapping stamps mean the calls ran
+ * concurrently. That is exactly the real-time order {@link LinearizabilityChecker} needs,
+ * without the ties and clock skew of {@code System.nanoTime()}.
+ */
+public class RecordingBank implements BankEngine {
+
+  public enum Type { DEPOSIT, WITHDRAW, TRANSFER, BALANCE }
+
+  /** Result recorded for {@code getBalance} on an account that does not exist. */
+  public static final long NOT_FOUND = Long.MIN_VALUE;
+
+  /** Result recorded for a call that threw: it may or may not have taken effect. */
+  public static final long UNKNOWN = Long.MIN_VALUE + 1;
+
+  /**
+   * One completed call.
+   *
+   * @param account2 target of a transfer, 0 otherwise
+   * @param money    amount, 0 for balance reads
+   * @param result   1/0 for true/false, the balance for reads, {@link #NOT_FOUND}, or
+   *                 {@link #UNKNOWN} if the call threw
+   */
+  public record Operation(Type type, int account1, int account2, long money, long result,
+                          long invoked, long returned) {
+
+    public boolean ambiguous() {
+      return result == UNKNOWN;
+    }
+
+    @Override
+    public String toString() {
+      String args = switch (type) {
+        case TRANSFER -> account1 + " -> " + account2 + ", " + money;
+        case BALANCE -> String.valueOf(account1);
+        default -> account1 + ", " + money;
+      };
+      String value = ambiguous() ? "unknown" : type == Type.BALANCE
+          ? (result == NOT_FOUND ? "not found" : String.valueOf(result))
+          : String.valueOf(result == 1);
+      return type + "(" + args + ") = " + value + " @[" + invoked + ", " + returned + "]";
+    }
+  }
+
+  private final BankEngine engine;
+  private final AtomicLong clock = new AtomicLong();
+  private final ConcurrentLinkedQueue<Operation> operations = new ConcurrentLinkedQueue<>();
+
+  public RecordingBank(BankEngine engine) {
+    this.engine = engine;
+  }
+
+  @Override
+  public boolean deposit(int account, long money) {
+    long invoked = clock.incrementAndGet();
+    boolean ok;
+    try {
+      ok = engine.deposit(account, money);
+    } catch (RuntimeException | Error e) {
+      record(Type.DEPOSIT, account, 0, money, UNKNOWN, invoked);
+      throw e;
+    }
+    record(Type.DEPOSIT, account, 0, money, ok ? 1 : 0, invoked);
+    return ok;
+  }
+
+  @Override
+  public boolean withdraw(int account, long money) {
+    long invoked = clock.incrementAndGet();
+    boolean ok;
+    try {
+      ok = engine.withdraw(account, money);
+    } catch (RuntimeException | Error e) {
+      record(Type.WITHDRAW, account, 0, money, UNKNOWN, invoked);
+      throw e;
+    }
+    record(Type.WITHDRAW, account, 0, money, ok ? 1 : 0, invoked);
+    return ok;
+  }
+
+  @Override
+  public boolean transfer(int account1, int account2, long money) {
+    long invoked = clock.incrementAndGet();
+    boolean ok;
+    try {
+      ok = engine.transfer(account1, account2, money);
+    } catch (RuntimeException | Error e) {
+      record(Type.TRANSFER, account1, account2, money, UNKNOWN, invoked);
+      throw e;
+    }
+    record(Type.TRANSFER, account1, account2, money, ok ? 1 : 0, invoked);
+    return ok;
+  }
+
+  @Override
+  public long getBalance(int account) {
+    long invoked = clock.incrementAndGet();
+    try {
+      long balance = engine.getBalance(account);
+      record(Type.BALANCE, account, 0, 0, balance, invoked);
+      return balance;
+    } catch (IllegalArgumentException e) {
+      record(Type.BALANCE, account, 0, 0, NOT_FOUND, invoked);
+      throw e;
+    } catch (RuntimeException | Error e) {
+      record(Type.BALANCE, account, 0, 0, UNKNOWN, invoked);
+      throw e;
+    }
+  }
+
+  @Override
+  public int size() {
+    return engine.size();
+  }
+
+  private void record(Type type, int account1, int account2, long money, long result,
+                      long invoked) {
+    operations.add(new Operation(type, account1, account2, money, result, invoked,
+        clock.incrementAndGet()));
+  }
+
+  /**
+   * Every completed operation so far, ordered by invocation.
+   */
+  public List<Operation> history() {
+    List<Operation> history = new ArrayList<>(operations);
+    history.sort(Comparator.comparingLong(Operation::invoked));
+    return history;
+  }
+
+  /**
+   * Re-run a sequential history (e.g. a linearization found by
+   * {@link LinearizabilityChecker#linearize}) against {@code engine} one call at a time.
+   * The result of an {@link Operation#ambiguous()} operation is not compared.
+   *
+   * @return the first operation whose result differs, or {@code null} if all match
+   */
+  public static Operation replay(List<Operation> sequence, BankEngine engine) {
+    for (Operation op : sequence) {
+      long result = switch (op.type()) {
+        case DEPOSIT -> engine.deposit(op.account1(), op.money()) ? 1 : 0;
+        case WITHDRAW -> engine.withdraw(op.account1(), op.money()) ? 1 : 0;
+        case TRANSFER -> engine.transfer(op.account1(), op.account2(), op.money()) ? 1 : 0;
+        case BALANCE -> {
+          try {
+            yield engine.getBalance(op.account1());
+          } catch (IllegalArgumentException e) {
+            yield NOT_FOUND;
+          }
+        }
+      };
+      if (!op.ambiguous() && result != op.result()) {
+        return op;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,61 @@
+package com.aykacltd.cone;
+
+/**
+ * A {@link BankEngine} with overdrafts and holds (card authorizations): funds are reserved now
+ * and later either captured, leaving the bank, or released back to the account.
+ * <p>
+ * Each account has an available balance, the one {@link #getBalance}, {@link #withdraw} and
+ * {@link #transfer} work with, a held amount and a credit limit. Debits may take the available
+ * balance down to {@code -creditLimit}; the limit is 0 until {@link #setCreditLimit} raises it,
+ * so by default no account can be overdrawn. A reservation moves money from available to held
+ * and is checked against the same floor as a withdrawal.
+ * A hold is settled exactly once: after a capture or a release, further calls with its id
+ * return {@code false}.
+ */
+public interface ReservingBankEngine extends BankEngine {
+
+  /** {@link #reserve} result when nothing was reserved. */
+  long NO_HOLD = -1;
+
+  /**
+   * Let debits take the account's available balance down to {@code -limit}.
+   * Valid if: account in [1, n] AND limit >= 0 AND available balance >= -limit, so a lowered
+   * limit never leaves the account past it.
+   */
+  boolean setCreditLimit(int account, long limit);
+
+  /**
+   * The account's credit limit, 0 unless {@link #setCreditLimit} changed it.
+   *
+   * @throws IllegalArgumentException if the account does not exist
+   */
+  long getCreditLimit(int account);
+
+  /**
+   * Move {@code money} from the account's available balance to a new hold.
+   * Valid if: account in [1, n] AND 0 <= money <= available balance + credit limit.
+   *
+   * @return the hold id, or {@link #NO_HOLD}
+   */
+  long reserve(int account, long money);
+
+  /**
+   * Settle a hold by taking {@code money} out of the bank; the rest of the hold, if any,
+   * goes back to the available balance.
+   * Valid if: the hold is open AND 0 <= money <= reserved amount.
+   */
+  boolean capture(long holdId, long money);
+
+  /**
+   * Settle a hold by returning all of it to the available balance.
+   * Valid if: the hold is open.
+   */
+  boolean release(long holdId);
+
+  /**
+   * Sum of the account's open holds.
+   *
+   * @throws IllegalArgumentException if the account does not exist
+   */
+  long getHeld(int account);
+}
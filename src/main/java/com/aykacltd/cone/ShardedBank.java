@@ -0,0 +1,311 @@
+package com.aykacltd.cone;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LeetCode 2043 - Simple Bank System, single-writer shards
+ * <p>
+ * Thread-Safety Strategy:
+ * - Accounts are partitioned across N shards (account index i lives on shard i % N).
+ * - Each shard owns its balances and is the only thread that ever touches them; other
+ * threads send it commands through a lock-free multi-producer queue, so there are no
+ * locks on the data at all.
+ * - A transfer inside one shard is a single command. A cross-shard transfer is two
+ * messages: "reserve" debits the source on its shard (failing fast if funds are short),
+ * then "commit" credits the destination on its shard. A credit can never fail, so no
+ * compensation step is needed.
+ * <p>
+ * The async methods return immediately; the future completes on the shard thread once the
+ * operation is applied (for transfers: once the credit is applied). The blocking
+ * {@link BankEngine} methods simply wait for that future.
+ * <p>
+ * {@link #close} stops intake first, then waits until every accepted command, including the
+ * credit half of cross-shard transfers, has run, and only then stops the shard threads.
+ * <p>
+ * Time:  O(1) per operation plus one or two queue hand-offs
+ * Space: O(n) balances + one thread and queue per shard
+ */
+public class ShardedBank implements BankEngine, AutoCloseable {
+
+  private final Shard[] shards;
+  private final int n;
+  private final AtomicLong inFlight = new AtomicLong();   // queued or running commands
+  private volatile boolean open = true;
+  private volatile boolean stopped;
+
+  public ShardedBank(long[] balance, int shardCount) {
+    if (shardCount <= 0) {
+      throw new IllegalArgumentException("shardCount must be positive: " + shardCount);
+    }
+    this.n = balance.length;
+    this.shards = new Shard[shardCount];
+    for (int s = 0; s < shardCount; s++) {
+      long[] local = new long[(n - s + shardCount - 1) / shardCount];
+      for (int i = 0; i < local.length; i++) {
+        local[i] = balance[i * shardCount + s];
+      }
+      shards[s] = new Shard(s, local, inFlight);
+    }
+  }
+
+  private boolean isValid(int account) {
+    return account >= 1 && account <= n;     // accounts are 1-indexed
+  }
+
+  private Shard shardOf(int account) {
+    return shards[(account - 1) % shards.length];
+  }
+
+  private int slotOf(int account) {
+    return (account - 1) / shards.length;
+  }
+
+  // Intake from callers. Counted before the open check, so close() either sees the count and
+  // waits for the command or the caller sees the bank closed.
+  private void submit(Shard shard, CompletableFuture<?> result, Runnable action) {
+    inFlight.incrementAndGet();
+    if (!open) {
+      inFlight.decrementAndGet();
+      throw new RejectedExecutionException("ShardedBank is closed");
+    }
+    shard.enqueue(new Command(result, action));
+  }
+
+  // Shard-to-shard hand-off: accepted while closing, and counted before the sending command
+  // finishes, so the in-flight count cannot touch zero in between
+  private void handOff(Shard target, CompletableFuture<?> result, Runnable action) {
+    inFlight.incrementAndGet();
+    target.enqueue(new Command(result, action));
+  }
+
+  // ── Async API ────────────────────────────────────────────────────────────
+
+  public CompletableFuture<Boolean> depositAsync(int account, long money) {
+    if (!isValid(account)) {
+      return CompletableFuture.completedFuture(false);
+    }
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    Shard shard = shardOf(account);
+    int slot = slotOf(account);
+    submit(shard, result, () -> {
+      shard.balance[slot] += money;
+      result.complete(true);
+    });
+    return result;
+  }
+
+  public CompletableFuture<Boolean> withdrawAsync(int account, long money) {
+    if (!isValid(account)) {
+      return CompletableFuture.completedFuture(false);
+    }
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    Shard shard = shardOf(account);
+    int slot = slotOf(account);
+    submit(shard, result, () -> result.complete(shard.debit(slot, money)));
+    return result;
+  }
+
+  public CompletableFuture<Boolean> transferAsync(int account1, int account2, long money) {
+    if (!isValid(account1) || !isValid(account2)) {
+      return CompletableFuture.completedFuture(false);
+    }
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    Shard source = shardOf(account1);
+    Shard target = shardOf(account2);
+    int srcSlot = slotOf(account1);
+    int dstSlot = slotOf(account2);
+    if (source == target) {
+      submit(source, result, () -> {
+        if (!source.debit(srcSlot, money)) {
+          result.complete(false);
+          return;
+        }
+        source.balance[dstSlot] += money;    // src == dst nets out to a balance check
+        result.complete(true);
+      });
+      return result;
+    }
+    // Phase 1: reserve on the source shard; phase 2: commit the credit on the target shard
+    submit(source, result, () -> {
+      if (!source.debit(srcSlot, money)) {
+        result.complete(false);
+        return;
+      }
+      handOff(target, result, () -> {
+        target.balance[dstSlot] += money;
+        result.complete(true);
+      });
+    });
+    return result;
+  }
+
+  public CompletableFuture<Long> balanceAsync(int account) {
+    if (!isValid(account)) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException("Account not found: " + account));
+    }
+    CompletableFuture<Long> result = new CompletableFuture<>();
+    Shard shard = shardOf(account);
+    int slot = slotOf(account);
+    submit(shard, result, () -> result.complete(shard.balance[slot]));
+    return result;
+  }
+
+  // Run an arbitrary command on the shard thread; lets tests inject failing commands
+  CompletableFuture<Void> runOnShard(int shard, Runnable action) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    submit(shards[shard], result, () -> {
+      action.run();
+      result.complete(null);
+    });
+    return result;
+  }
+
+  // ── BankEngine (blocking) API ────────────────────────────────────────────
+
+  @Override
+  public boolean deposit(int account, long money) {
+    return depositAsync(account, money).join();
+  }
+
+  @Override
+  public boolean withdraw(int account, long money) {
+    return withdrawAsync(account, money).join();
+  }
+
+  @Override
+  public boolean transfer(int account1, int account2, long money) {
+    return transferAsync(account1, account2, money).join();
+  }
+
+  @Override
+  public long getBalance(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    return balanceAsync(account).join();
+  }
+
+  @Override
+  public int size() {
+    return n;
+  }
+
+  /**
+   * After {@link #close}, the final balances read straight from the stopped shards; before it,
+   * the default one-account-at-a-time snapshot.
+   */
+  @Override
+  public long[] snapshot() {
+    if (!stopped) {
+      return BankEngine.super.snapshot();
+    }
+    long[] balances = new long[n];
+    for (int i = 0; i < n; i++) {
+      balances[i] = shards[i % shards.length].balance[i / shards.length];
+    }
+    return balances;
+  }
+
+  /**
+   * Reject new commands, wait for every accepted one (cross-shard credits included) to run,
+   * then stop the shard threads. The wait is not interruptible, since leaving early would
+   * strand credits in flight; an interrupt received meanwhile is restored on return.
+   */
+  @Override
+  public void close() {
+    open = false;
+    boolean interrupted = false;
+    while (inFlight.get() > 0) {
+      interrupted |= Thread.interrupted();   // a set flag would turn parkNanos into a spin
+      LockSupport.parkNanos(100_000);
+    }
+    for (Shard shard : shards) {
+      shard.running = false;
+      LockSupport.unpark(shard.thread);
+    }
+    for (Shard shard : shards) {
+      while (true) {
+        try {
+          shard.thread.join();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    stopped = true;
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // ── Shard event loop ─────────────────────────────────────────────────────
+
+  // A command and the future it completes; the future fails if the command throws
+  private record Command(CompletableFuture<?> result, Runnable action) {
+  }
+
+  private static final class Shard {
+
+    final long[] balance;                    // confined to the shard thread
+    final ConcurrentLinkedQueue<Command> inbox = new ConcurrentLinkedQueue<>();
+    final AtomicLong inFlight;
+    final Thread thread;
+    volatile boolean running = true;
+    volatile boolean parked;
+
+    Shard(int id, long[] balance, AtomicLong inFlight) {
+      this.balance = balance;
+      this.inFlight = inFlight;
+      this.thread = new Thread(this::run, "bank-shard-" + id);
+      this.thread.setDaemon(true);
+      this.thread.start();
+    }
+
+    void enqueue(Command command) {
+      inbox.offer(command);
+      if (parked) {
+        LockSupport.unpark(thread);
+      }
+    }
+
+    boolean debit(int slot, long money) {
+      if (balance[slot] < money) {
+        return false;
+      }
+      balance[slot] -= money;
+      return true;
+    }
+
+    private void run() {
+      while (true) {
+        Command command;
+        while ((command = inbox.poll()) != null) {
+          try {
+            command.action().run();
+          } catch (Throwable t) {
+            command.result().completeExceptionally(t);   // keep serving the other commands
+          } finally {
+            inFlight.decrementAndGet();
+          }
+        }
+        if (!running) {
+          if (inbox.isEmpty()) {
+            return;
+          }
+          continue;
+        }
+        parked = true;
+        if (inbox.isEmpty() && running) {    // re-check after publishing 'parked'
+          LockSupport.park(this);
+        }
+        parked = false;
+      }
+    }
+  }
+}
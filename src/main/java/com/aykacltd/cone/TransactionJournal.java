@@ -0,0 +1,325 @@
+package com.aykacltd.cone;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only write-ahead journal of bank mutations with group commit.
+ * <p>
+ * Record layout (fixed {@value #RECORD_SIZE} bytes, big-endian):
+ * <pre>
+ *   long seq        1, 2, 3, ... in file order
+ *   int  type       DEPOSIT / WITHDRAW / TRANSFER
+ *   int  account1   account credited (deposit), debited (withdraw) or source (transfer)
+ *   int  account2   transfer destination, 0 otherwise
+ *   int  reserved
+ *   long money
+ * </pre>
+ * <p>
+ * Group commit: {@link #enqueue} copies the record into an in-memory batch and
+ * {@link #awaitDurable} blocks until a background flusher has written and fsync'ed it. The flusher syncs as soon as
+ * {@code batchSize} records are pending or {@code flushIntervalMicros} after the first
+ * pending record, whichever comes first, so one fsync is shared by every caller in the batch.
+ * Appenders fill a second buffer while a batch is being synced.
+ * <p>
+ * The valid part of a journal is its longest prefix of whole records numbered 1, 2, 3, ...
+ * Anything after it (a torn record, or a gap left by a crash mid-batch) is dropped: by replay,
+ * and by truncation when the journal is reopened, so new records continue the sequence.
+ * <p>
+ * Records are replayed in file order. A caller that enqueues each record while it still holds
+ * whatever orders the operation against the ones it depends on (as {@link JournaledBank} does)
+ * therefore gets a valid state back from any prefix of the file.
+ */
+public class TransactionJournal implements AutoCloseable {
+
+  static final int RECORD_SIZE = 32;
+  static final int DEPOSIT = 1;
+  static final int WITHDRAW = 2;
+  static final int TRANSFER = 3;
+
+  private final FileChannel channel;
+  private final long flushIntervalNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition pendingWork = lock.newCondition();
+  private final Condition synced = lock.newCondition();
+  private final Thread flusher;
+
+  // Guarded by lock
+  private ByteBuffer active;                 // batch being filled by appenders
+  private ByteBuffer spare;                  // batch being written by the flusher
+  private long appendedSeq;                  // sequence number of the last appended record
+  private long syncedSeq;                    // every record <= syncedSeq is on disk
+  private long firstPendingNanos;
+  private boolean closed;
+  private IOException failure;
+
+  /**
+   * @param batchSize           records per fsync when the journal is busy
+   * @param flushIntervalMicros longest a record waits for its batch to fill
+   */
+  public TransactionJournal(Path file, int batchSize, long flushIntervalMicros)
+      throws IOException {
+    if (batchSize <= 0 || flushIntervalMicros < 0) {
+      throw new IllegalArgumentException("batchSize must be > 0 and flushIntervalMicros >= 0");
+    }
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    long lastSeq = scan(channel, null);
+    channel.truncate(lastSeq * RECORD_SIZE);
+    channel.position(lastSeq * RECORD_SIZE);
+    this.appendedSeq = lastSeq;
+    this.syncedSeq = lastSeq;
+    this.flushIntervalNanos = TimeUnit.MICROSECONDS.toNanos(flushIntervalMicros);
+    this.active = ByteBuffer.allocateDirect(batchSize * RECORD_SIZE);
+    this.spare = ByteBuffer.allocateDirect(batchSize * RECORD_SIZE);
+    this.flusher = new Thread(this::flushLoop, "journal-flusher");
+    this.flusher.setDaemon(true);
+    this.flusher.start();
+  }
+
+  /**
+   * Append one record and block until it is durable.
+   *
+   * @throws UncheckedIOException if the journal could not be written
+   */
+  public void append(int type, int account1, int account2, long money) {
+    awaitDurable(enqueue(type, account1, account2, money));
+  }
+
+  /**
+   * Add one record to the current batch and return its sequence number; records reach the file
+   * in enqueue order. Blocks only while both batches are full.
+   *
+   * @throws UncheckedIOException if the journal could not be written
+   */
+  public long enqueue(int type, int account1, int account2, long money) {
+    lock.lock();
+    try {
+      while (!active.hasRemaining() && failure == null && !closed) {
+        synced.awaitUninterruptibly();       // batch full and previous one still syncing
+      }
+      checkUsable();
+      if (active.position() == 0) {
+        firstPendingNanos = System.nanoTime();
+      }
+      long seq = ++appendedSeq;
+      active.putLong(seq).putInt(type).putInt(account1).putInt(account2).putInt(0)
+          .putLong(money);
+      if (active.position() == RECORD_SIZE || !active.hasRemaining()) {
+        pendingWork.signal();                // first record starts the timer, full cuts it short
+      }
+      return seq;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Block until record {@code seq} and every record before it are on disk.
+   *
+   * @throws UncheckedIOException if the journal could not be written
+   */
+  public void awaitDurable(long seq) {
+    lock.lock();
+    try {
+      while (syncedSeq < seq && failure == null) {
+        synced.awaitUninterruptibly();
+      }
+      if (syncedSeq < seq) {
+        throw new UncheckedIOException("Journal write failed", failure);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void checkUsable() {
+    if (failure != null) {
+      throw new UncheckedIOException("Journal write failed", failure);
+    }
+    if (closed) {
+      throw new IllegalStateException("Journal is closed");
+    }
+  }
+
+  private void flushLoop() {
+    while (true) {
+      ByteBuffer batch;
+      long batchSeq;
+      lock.lock();
+      try {
+        while (active.position() == 0 && !closed) {
+          pendingWork.awaitUninterruptibly();
+        }
+        if (active.position() == 0) {
+          return;                            // closed and drained
+        }
+        // Let the batch fill up until it is full or the interval elapses
+        long deadline = firstPendingNanos + flushIntervalNanos;
+        long remaining;
+        while (active.hasRemaining() && !closed
+            && (remaining = deadline - System.nanoTime()) > 0) {
+          try {
+            pendingWork.awaitNanos(remaining);
+          } catch (InterruptedException e) {
+            break;
+          }
+        }
+        batch = active;
+        active = spare;
+        spare = batch;
+        batchSeq = appendedSeq;
+        synced.signalAll();                  // appenders blocked on a full batch may proceed
+      } finally {
+        lock.unlock();
+      }
+
+      IOException error = null;
+      try {
+        batch.flip();
+        while (batch.hasRemaining()) {
+          channel.write(batch);
+        }
+        channel.force(false);
+      } catch (IOException e) {
+        error = e;
+      } finally {
+        batch.clear();
+      }
+
+      lock.lock();
+      try {
+        if (error != null) {
+          failure = error;
+        } else {
+          syncedSeq = batchSeq;
+        }
+        synced.signalAll();
+        if (failure != null) {
+          return;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Flush pending records, stop the flusher and close the file.
+   */
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      closed = true;
+      pendingWork.signalAll();
+      synced.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    channel.close();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  // ── Replay ───────────────────────────────────────────────────────────────
+
+  /**
+   * Rebuild balances by applying every journaled mutation, in file order, to the opening
+   * balances. Only successful operations are journaled, so each record must apply cleanly;
+   * one that names an unknown account, a negative amount, or overdraws an account means the
+   * file is corrupt. The invalid tail after the last whole, in-sequence record is ignored.
+   *
+   * @throws IOException if the file cannot be read or a record in the valid part is corrupt
+   */
+  public static long[] replay(Path file, long[] opening) throws IOException {
+    long[] balance = opening.clone();
+    if (!Files.exists(file)) {
+      return balance;
+    }
+    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+      scan(in, balance);
+    }
+    return balance;
+  }
+
+  // Read the valid prefix from the start, applying it to balance if not null; returns its
+  // last sequence number
+  private static long scan(FileChannel in, long[] balance) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(4096 * RECORD_SIZE);
+    long position = 0;
+    long lastSeq = 0;
+    int read;
+    while ((read = in.read(buffer, position)) > 0) {
+      position += read;
+      buffer.flip();
+      while (buffer.remaining() >= RECORD_SIZE) {
+        if (buffer.getLong() != lastSeq + 1) {
+          return lastSeq;                    // gap or garbage: end of the valid part
+        }
+        int type = buffer.getInt();
+        int account1 = buffer.getInt();
+        int account2 = buffer.getInt();
+        buffer.getInt();
+        long money = buffer.getLong();
+        lastSeq++;
+        if (balance != null) {
+          apply(balance, lastSeq, type, account1, account2, money);
+        }
+      }
+      buffer.compact();
+    }
+    return lastSeq;                          // a partial record left in the buffer is torn
+  }
+
+  private static void apply(long[] balance, long seq, int type, int account1, int account2,
+                            long money) throws IOException {
+    int n = balance.length;
+    boolean valid = money >= 0 && account1 >= 1 && account1 <= n;
+    try {
+      switch (type) {
+        case DEPOSIT:
+          if (valid) {
+            balance[account1 - 1] = Math.addExact(balance[account1 - 1], money);
+          }
+          break;
+        case WITHDRAW:
+          valid = valid && balance[account1 - 1] >= money;
+          if (valid) {
+            balance[account1 - 1] -= money;
+          }
+          break;
+        case TRANSFER:
+          valid = valid && account2 >= 1 && account2 <= n && balance[account1 - 1] >= money;
+          if (valid) {
+            balance[account1 - 1] -= money;
+            balance[account2 - 1] = Math.addExact(balance[account2 - 1], money);
+          }
+          break;
+        default:
+          valid = false;
+      }
+    } catch (ArithmeticException e) {
+      valid = false;
+    }
+    if (!valid) {
+      throw new IOException("Corrupt journal record " + seq + ": type " + type + ", accounts "
+          + account1 + "/" + account2 + ", money " + money);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.aykacltd.cone;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples 1-indexed account ids in [1, n] with a Zipf(s) distribution.
+ * <p>
+ * The CDF is precomputed once, so a sample is a binary search: O(log n), allocation-free.
+ * Rank 1 (account 1) is the hottest account.
+ */
+final class ZipfianGenerator {
+
+  private final double[] cdf;
+
+  ZipfianGenerator(int n, double exponent) {
+    this.cdf = new double[n];
+    double sum = 0;
+    for (int rank = 1; rank <= n; rank++) {
+      sum += 1.0 / Math.pow(rank, exponent);
+      cdf[rank - 1] = sum;
+    }
+    for (int i = 0; i < n; i++) {
+      cdf[i] /= sum;
+    }
+  }
+
+  int next() {
+    double u = ThreadLocalRandom.current().nextDouble();
+    int idx = Arrays.binarySearch(cdf, u);
+    if (idx < 0) {
+      idx = -idx - 1;                        // insertion point = first cdf >= u
+    }
+    return Math.min(idx, cdf.length - 1) + 1;
+  }
+}
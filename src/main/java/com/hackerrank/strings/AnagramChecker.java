@@ -44,28 +44,40 @@ public class AnagramChecker {
     return true;
   }
 
-  // Approach 2: Character frequency map
+  // Approach 3: Character frequency array, reused per thread
+  private static final ThreadLocal<int[]> CHAR_COUNTS =
+      ThreadLocal.withInitial(() -> new int[65536]);
+
   public boolean isAnagramWithArray(String s, String t) {
     if (s == null || t == null || s.length() != t.length()) {
       return false;
     }
 
-    int[] charCount = new int[65536];
-
-    for (char c : s.toLowerCase().toCharArray()) {
-      charCount[c] += 1;
+    String lowerS = s.toLowerCase();
+    String lowerT = t.toLowerCase();
+    if (lowerS.length() != lowerT.length()) {
+      return false;                          // lower-casing can change the length
     }
 
-    for (char c : t.toLowerCase().toCharArray()) {
-      if (charCount[c] == 0) {
-        return false;
+    int[] charCount = CHAR_COUNTS.get();
+    try {
+      for (int i = 0; i < lowerS.length(); i++) {
+        charCount[lowerS.charAt(i)]++;
+      }
+      for (int i = 0; i < lowerT.length(); i++) {
+        if (--charCount[lowerT.charAt(i)] < 0) {
+          return false;
+        }
+      }
+      return true;                           // equal lengths, no negative count: all zero
+    } finally {
+      for (int i = 0; i < lowerS.length(); i++) {
+        charCount[lowerS.charAt(i)] = 0;     // leave the array clean for the next call
+      }
+      for (int i = 0; i < lowerT.length(); i++) {
+        charCount[lowerT.charAt(i)] = 0;
       }
-//      charCount[c] -= 1;
-//      if (charCount[c] < 0) {
-//        return false;
-//      }
     }
-    return true;
   }
 
 }
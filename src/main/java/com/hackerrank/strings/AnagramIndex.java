@@ -0,0 +1,170 @@
+package com.hackerrank.strings;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Groups words by anagram class, for token streams too large to compare pair by pair with
+ * {@link AnagramChecker}. Thread-safe: {@link #addAll} ingests in parallel.
+ * <p>
+ * A word's signature is its chars, lower-cased one by one as in {@link AnagramChecker}, in
+ * sorted order: exact, and unlike a prime product it cannot overflow on long words. ASCII
+ * words of {@link #COUNTING_SORT_MIN} chars or more are sorted by counting into a 128-entry
+ * vector, others with {@link Arrays#sort(char[], int, int)}.
+ * <p>
+ * The signature is built in a per-thread scratch buffer and probed in the map through a
+ * per-thread mutable key, so a lookup, or adding a word of a known class, allocates nothing.
+ * Only the first word of a new class copies its key.
+ * <p>
+ * Time:  O(n) per add / lookup for an ASCII word of n >= 32 chars, O(n log n) otherwise;
+ *        independent of the index size
+ * Space: O(classes * signature + distinct words)
+ */
+public class AnagramIndex {
+
+  static final int COUNTING_SORT_MIN = 32;   // below this, insertion sort beats 128 buckets
+
+  // Sorted signature chars; a stored key owns its array, the probe borrows the scratch one
+  private static final class Key {
+    char[] chars;
+    int length;
+    int hash;
+
+    Key copy() {
+      Key key = new Key();
+      key.chars = Arrays.copyOf(chars, length);
+      key.length = length;
+      key.hash = hash;
+      return key;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key other && length == other.length
+          && Arrays.equals(chars, 0, length, other.chars, 0, other.length);
+    }
+  }
+
+  private static final class Scratch {
+    char[] chars = new char[64];
+    final int[] counts = new int[128];
+    final Key probe = new Key();
+  }
+
+  private static final class Group {
+    final Set<String> words = ConcurrentHashMap.newKeySet();
+    final LongAdder tokens = new LongAdder();
+  }
+
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+  private final ConcurrentHashMap<Key, Group> groups = new ConcurrentHashMap<>();
+
+  /**
+   * Add one token. Null is ignored.
+   */
+  public void add(String word) {
+    if (word == null) {
+      return;
+    }
+    Key probe = signature(word);
+    Group group = groups.get(probe);
+    if (group == null) {
+      group = groups.computeIfAbsent(probe.copy(), key -> new Group());
+    }
+    group.words.add(word);
+    group.tokens.increment();
+  }
+
+  /**
+   * Add every token, in parallel on the common fork-join pool.
+   */
+  public void addAll(Collection<String> words) {
+    words.parallelStream().forEach(this::add);
+  }
+
+  /**
+   * Add every token of {@code words}, in parallel on the common fork-join pool. Consumes the
+   * stream.
+   */
+  public void addAll(Stream<String> words) {
+    words.parallel().forEach(this::add);
+  }
+
+  /**
+   * Distinct words added so far that are anagrams of {@code word}, itself included if it was
+   * added; empty if none. A live, unmodifiable view.
+   */
+  public Set<String> anagramsOf(String word) {
+    Group group = word == null ? null : groups.get(signature(word));
+    return group == null ? Set.of() : Collections.unmodifiableSet(group.words);
+  }
+
+  /**
+   * Number of tokens added in {@code word}'s anagram class, repeats included.
+   */
+  public long tokenCount(String word) {
+    Group group = word == null ? null : groups.get(signature(word));
+    return group == null ? 0 : group.tokens.sum();
+  }
+
+  public int classCount() {
+    return groups.size();
+  }
+
+  // ── Signature ────────────────────────────────────────────────────────────
+
+  // Fills this thread's probe key; valid until the thread's next call
+  private static Key signature(String word) {
+    Scratch scratch = SCRATCH.get();
+    int n = word.length();
+    if (scratch.chars.length < n) {
+      scratch.chars = new char[Math.max(n, scratch.chars.length * 2)];
+    }
+    char[] chars = scratch.chars;
+    char max = 0;
+    for (int i = 0; i < n; i++) {
+      char c = Character.toLowerCase(word.charAt(i));
+      chars[i] = c;
+      max |= c;
+    }
+    if (max < 128 && n >= COUNTING_SORT_MIN) {
+      countingSort(chars, n, scratch.counts);
+    } else {
+      Arrays.sort(chars, 0, n);
+    }
+    int hash = 1;
+    for (int i = 0; i < n; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    Key probe = scratch.probe;
+    probe.chars = chars;
+    probe.length = n;
+    probe.hash = hash;
+    return probe;
+  }
+
+  // Leaves counts all zero again for the next call
+  private static void countingSort(char[] chars, int n, int[] counts) {
+    for (int i = 0; i < n; i++) {
+      counts[chars[i]]++;
+    }
+    int at = 0;
+    for (char c = 0; c < counts.length; c++) {
+      for (int k = counts[c]; k > 0; k--) {
+        chars[at++] = c;
+      }
+      counts[c] = 0;
+    }
+  }
+}
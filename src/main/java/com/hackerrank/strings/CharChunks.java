@@ -0,0 +1,128 @@
+package com.hackerrank.strings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Feeds a character source to a {@link Sink} in fixed-size chunks, so the streaming variants
+ * in this package run in constant heap however large the input is.
+ * <p>
+ * Byte sources are decoded incrementally with a {@link CharsetDecoder}; malformed input is
+ * replaced, as {@code new String(bytes, charset)} does, so results match the String-based
+ * methods. Files above {@link #MAP_THRESHOLD} are memory-mapped one window at a time. A
+ * multi-byte character cut by the end of a window is left undecoded and the next window
+ * starts at its first byte.
+ */
+final class CharChunks {
+
+  /** Receives {@code chars[from, to)}; the array is reused for the next chunk. */
+  @FunctionalInterface
+  interface Sink {
+    void accept(char[] chars, int from, int to);
+  }
+
+  static final int CHUNK_CHARS = 1 << 16;
+  static final int CHUNK_BYTES = 1 << 16;
+  static final long MAP_THRESHOLD = 1 << 20;
+  static final long MAP_WINDOW = 1 << 28;
+
+  private CharChunks() {
+  }
+
+  static void forEach(Reader reader, Sink sink) throws IOException {
+    char[] chunk = new char[CHUNK_CHARS];
+    int n;
+    while ((n = reader.read(chunk)) != -1) {
+      sink.accept(chunk, 0, n);
+    }
+  }
+
+  static void forEach(ReadableByteChannel channel, Charset charset, Sink sink)
+      throws IOException {
+    CharsetDecoder decoder = decoder(charset);
+    CharBuffer out = CharBuffer.allocate(CHUNK_CHARS);
+    ByteBuffer in = ByteBuffer.allocate(CHUNK_BYTES);
+    while (channel.read(in) != -1) {
+      in.flip();
+      decode(decoder, in, out, false, sink);
+      in.compact();                          // keep a partial character for the next read
+    }
+    in.flip();
+    finish(decoder, in, out, sink);
+  }
+
+  static void forEach(Path path, Charset charset, Sink sink) throws IOException {
+    forEach(path, charset, MAP_WINDOW, sink);
+  }
+
+  // Window size is a parameter so tests can cut characters at window boundaries
+  static void forEach(Path path, Charset charset, long window, Sink sink) throws IOException {
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = file.size();
+      if (size < MAP_THRESHOLD) {
+        forEach(file, charset, sink);        // not worth a mapping
+        return;
+      }
+      CharsetDecoder decoder = decoder(charset);
+      CharBuffer out = CharBuffer.allocate(CHUNK_CHARS);
+      long position = 0;
+      while (true) {
+        long length = Math.min(window, size - position);
+        MappedByteBuffer in = file.map(FileChannel.MapMode.READ_ONLY, position, length);
+        if (position + length == size) {
+          finish(decoder, in, out, sink);
+          return;
+        }
+        decode(decoder, in, out, false, sink);
+        position += in.position();
+      }
+    }
+  }
+
+  /**
+   * Decode all of {@code bytes}, which must end on a character boundary.
+   */
+  static void forEach(ByteBuffer bytes, Charset charset, Sink sink) {
+    finish(decoder(charset), bytes, CharBuffer.allocate(CHUNK_CHARS), sink);
+  }
+
+  private static CharsetDecoder decoder(Charset charset) {
+    return charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  private static void decode(CharsetDecoder decoder, ByteBuffer in, CharBuffer out,
+                             boolean endOfInput, Sink sink) {
+    while (decoder.decode(in, out, endOfInput).isOverflow()) {
+      drain(out, sink);
+    }
+  }
+
+  private static void finish(CharsetDecoder decoder, ByteBuffer in, CharBuffer out,
+                             Sink sink) {
+    decode(decoder, in, out, true, sink);
+    while (decoder.flush(out).isOverflow()) {
+      drain(out, sink);
+    }
+    drain(out, sink);
+  }
+
+  private static void drain(CharBuffer out, Sink sink) {
+    out.flip();
+    if (out.hasRemaining()) {
+      sink.accept(out.array(), 0, out.limit());
+    }
+    out.clear();
+  }
+}
@@ -1,5 +1,10 @@
 package com.hackerrank.strings;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,5 +55,48 @@ public class CharacterFrequency {
     return result;
   }
 
+  // Primitive histogram: index c holds the count of (char) c, no boxing or maps
+  public long[] countCharactersHistogram(String str) {
+    if (str == null) {
+      return new long[CharacterHistogram.CHAR_SIZE];
+    }
+    return CharacterHistogram.count(str);
+  }
+
+  // ── Streaming variants: same result as countCharacters, constant heap ────
+
+  public Map<Character, Long> countCharactersStreaming(Reader reader) throws IOException {
+    long[] histogram = new long[CharacterHistogram.CHAR_SIZE];
+    CharChunks.forEach(reader, (chars, from, to) ->
+        CharacterHistogram.count(chars, from, to, histogram));
+    return toMap(histogram);
+  }
+
+  public Map<Character, Long> countCharactersStreaming(ReadableByteChannel channel,
+                                                       Charset charset) throws IOException {
+    long[] histogram = new long[CharacterHistogram.CHAR_SIZE];
+    CharChunks.forEach(channel, charset, (chars, from, to) ->
+        CharacterHistogram.count(chars, from, to, histogram));
+    return toMap(histogram);
+  }
+
+  // Large files are memory-mapped window by window
+  public Map<Character, Long> countCharactersStreaming(Path path, Charset charset)
+      throws IOException {
+    long[] histogram = new long[CharacterHistogram.CHAR_SIZE];
+    CharChunks.forEach(path, charset, (chars, from, to) ->
+        CharacterHistogram.count(chars, from, to, histogram));
+    return toMap(histogram);
+  }
+
+  private static Map<Character, Long> toMap(long[] histogram) {
+    Map<Character, Long> result = new HashMap<>();
+    for (int c = 0; c < histogram.length; c++) {
+      if (histogram[c] != 0) {
+        result.put((char) c, histogram[c]);
+      }
+    }
+    return result;
+  }
 
 }
@@ -0,0 +1,349 @@
+package com.hackerrank.strings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Primitive character histograms for large inputs: no boxing, no maps, and no allocation
+ * proportional to the input.
+ * <p>
+ * Latin-1 path ({@code byte[]}, one byte per char): reads 8 bytes at a time as one
+ * {@code long} (SWAR) and spreads the 8 extracted bytes over 4 interleaved {@code int[256]}
+ * tables. Consecutive equal bytes (runs of spaces, zeros) would otherwise increment the same
+ * counter back to back, and each increment would wait for the previous store; with 4 tables
+ * those increments are independent. The small tables are flushed into the {@code long}
+ * result every block, so they can never overflow.
+ * <p>
+ * UTF-16 path ({@code char[]} / {@link CharSequence}): text is mostly Latin-1 even when it
+ * is not all Latin-1, so a group of 4 chars that are all below 256 goes to the same 4 small
+ * tables, and only groups containing a wider char fall back to indexing the full 64K
+ * histogram. A {@link String} is copied out in fixed chunks with {@code getChars}.
+ * <p>
+ * All methods add to the histogram they are given, so partial counts (chunks of a file)
+ * accumulate without merging. {@code parallelCount} splits large inputs over a
+ * {@link ForkJoinPool}.
+ * <p>
+ * Time:  O(n)
+ * Space: O(1) besides the histogram (4 KB of tables, an 8 KB chunk buffer for Strings);
+ *        parallelCount adds one 512 KB histogram per leaf in flight
+ */
+public final class CharacterHistogram {
+
+  /** Histogram size for Latin-1 input: one slot per byte value. */
+  public static final int LATIN1_SIZE = 256;
+
+  /** Histogram size for UTF-16 input: one slot per {@code char} value. */
+  public static final int CHAR_SIZE = 65536;
+
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  // Elements per flush of the int tables: each table gets at most BLOCK / 2 increments
+  private static final int BLOCK = 1 << 16;
+  private static final int CHUNK = 4096;
+
+  private CharacterHistogram() {
+  }
+
+  // ── Latin-1 ──────────────────────────────────────────────────────────────
+
+  /**
+   * Byte-value histogram of {@code data}; index i counts byte {@code (byte) i}.
+   */
+  public static long[] countLatin1(byte[] data) {
+    long[] histogram = new long[LATIN1_SIZE];
+    countLatin1(data, 0, data.length, histogram);
+    return histogram;
+  }
+
+  /**
+   * Add the byte values of {@code data[from, to)} to {@code histogram}, which needs at least
+   * {@link #LATIN1_SIZE} slots.
+   */
+  public static void countLatin1(byte[] data, int from, int to, long[] histogram) {
+    checkRange(data.length, from, to);
+    int[] tables = new int[4 * LATIN1_SIZE];
+    int i = from;
+    while (i < to) {
+      int blockEnd = (int) Math.min(to, (long) i + BLOCK);
+      for (; i + Long.BYTES <= blockEnd; i += Long.BYTES) {
+        long w = (long) LONGS.get(data, i);
+        tables[(int) w & 0xFF]++;
+        tables[LATIN1_SIZE + ((int) (w >>> 8) & 0xFF)]++;
+        tables[2 * LATIN1_SIZE + ((int) (w >>> 16) & 0xFF)]++;
+        tables[3 * LATIN1_SIZE + ((int) (w >>> 24) & 0xFF)]++;
+        tables[(int) (w >>> 32) & 0xFF]++;
+        tables[LATIN1_SIZE + ((int) (w >>> 40) & 0xFF)]++;
+        tables[2 * LATIN1_SIZE + ((int) (w >>> 48) & 0xFF)]++;
+        tables[3 * LATIN1_SIZE + (int) (w >>> 56)]++;
+      }
+      for (; i < blockEnd; i++) {
+        tables[data[i] & 0xFF]++;
+      }
+      flush(tables, histogram);
+    }
+  }
+
+  // ── UTF-16 ───────────────────────────────────────────────────────────────
+
+  /**
+   * Char-value histogram of {@code s}; index c counts char {@code (char) c}. Surrogate pairs
+   * are counted as their two halves, like {@code String.charAt}.
+   */
+  public static long[] count(CharSequence s) {
+    long[] histogram = new long[CHAR_SIZE];
+    count(s, histogram);
+    return histogram;
+  }
+
+  /**
+   * Add the chars of {@code s} to {@code histogram}, which needs {@link #CHAR_SIZE} slots.
+   */
+  public static void count(CharSequence s, long[] histogram) {
+    count(s, 0, s.length(), histogram);
+  }
+
+  private static void count(CharSequence s, int from, int to, long[] histogram) {
+    char[] chunk = new char[Math.min(CHUNK, to - from)];
+    int[] tables = new int[4 * LATIN1_SIZE];
+    int pending = 0;
+    for (int start = from; start < to; start += chunk.length) {
+      int end = Math.min(to, start + chunk.length);
+      if (s instanceof String str) {
+        str.getChars(start, end, chunk, 0);
+      } else {
+        for (int i = start; i < end; i++) {
+          chunk[i - start] = s.charAt(i);
+        }
+      }
+      countChunk(chunk, 0, end - start, tables, histogram);
+      pending += end - start;
+      if (pending >= BLOCK) {
+        flush(tables, histogram);
+        pending = 0;
+      }
+    }
+    flush(tables, histogram);
+  }
+
+  /**
+   * Add the chars of {@code chars[from, to)} to {@code histogram}, which needs
+   * {@link #CHAR_SIZE} slots.
+   */
+  public static void count(char[] chars, int from, int to, long[] histogram) {
+    checkRange(chars.length, from, to);
+    int[] tables = new int[4 * LATIN1_SIZE];
+    for (int i = from; i < to; i += BLOCK) {
+      countChunk(chars, i, (int) Math.min(to, (long) i + BLOCK), tables, histogram);
+      flush(tables, histogram);
+    }
+  }
+
+  // At most BLOCK chars between two flushes of tables
+  private static void countChunk(char[] chars, int from, int to, int[] tables,
+                                 long[] histogram) {
+    int i = from;
+    for (; i + 4 <= to; i += 4) {
+      char c0 = chars[i];
+      char c1 = chars[i + 1];
+      char c2 = chars[i + 2];
+      char c3 = chars[i + 3];
+      if ((c0 | c1 | c2 | c3) < LATIN1_SIZE) {
+        tables[c0]++;
+        tables[LATIN1_SIZE + c1]++;
+        tables[2 * LATIN1_SIZE + c2]++;
+        tables[3 * LATIN1_SIZE + c3]++;
+      } else {
+        countWide(c0, tables, histogram);
+        countWide(c1, tables, histogram);
+        countWide(c2, tables, histogram);
+        countWide(c3, tables, histogram);
+      }
+    }
+    for (; i < to; i++) {
+      countWide(chars[i], tables, histogram);
+    }
+  }
+
+  private static void countWide(char c, int[] tables, long[] histogram) {
+    if (c < LATIN1_SIZE) {
+      tables[c]++;
+    } else {
+      histogram[c]++;
+    }
+  }
+
+  // ── Parallel ─────────────────────────────────────────────────────────────
+
+  /**
+   * Inputs below this many chars (bytes for files) are counted sequentially: splitting,
+   * forking and merging 512 KB histograms would cost more than it saves.
+   */
+  public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+  /**
+   * {@link #count(CharSequence)} on the common {@link ForkJoinPool}.
+   */
+  public static long[] parallelCount(CharSequence s) {
+    return parallelCount(s, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Char histogram of {@code s}, counted in parallel on {@code pool}.
+   * <p>
+   * The input is split into about 4 leaves per worker (at least {@link #PARALLEL_THRESHOLD}
+   * chars each). Every leaf counts into its own histogram, so workers never share a counter,
+   * and each parent task adds its right child's histogram into its left one: a tree
+   * reduction, log2(leaves) merges deep.
+   */
+  public static long[] parallelCount(CharSequence s, ForkJoinPool pool) {
+    int length = s.length();
+    if (length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+      return count(s);
+    }
+    int leaf = (int) Math.max(PARALLEL_THRESHOLD, length / (4L * pool.getParallelism()));
+    return pool.invoke(new Split((from, to) -> {
+      long[] histogram = new long[CHAR_SIZE];
+      count(s, (int) from, (int) to, histogram);
+      return histogram;
+    }, leaf, 0, length));
+  }
+
+  /**
+   * Char histogram of a UTF-8 (or ASCII) file on the common {@link ForkJoinPool}.
+   */
+  public static long[] parallelCount(Path path) throws IOException {
+    return parallelCount(path, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Char histogram of a UTF-8 (or ASCII) file, counted in parallel on {@code pool}.
+   * <p>
+   * The file is split into byte ranges; each leaf memory-maps its range and decodes it on its
+   * own. A range boundary is moved forward past UTF-8 continuation bytes
+   * ({@code 10xxxxxx}, at most 3), so no character is cut in two and every leaf starts on a
+   * whole sequence. For well-formed UTF-8 the result equals {@link #count(CharSequence)} of
+   * the decoded text; for malformed input only the replacement count near a boundary may
+   * differ.
+   */
+  public static long[] parallelCount(Path path, ForkJoinPool pool) throws IOException {
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = file.size();
+      long[] histogram = new long[CHAR_SIZE];
+      if (size < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+        CharChunks.forEach(file, StandardCharsets.UTF_8,
+            (chars, from, to) -> count(chars, from, to, histogram));
+        return histogram;
+      }
+      // A leaf maps its range in one piece, so it must fit in one mapping window
+      long leaf = Math.min(CharChunks.MAP_WINDOW,
+          Math.max(PARALLEL_THRESHOLD, size / (4L * pool.getParallelism())));
+      try {
+        return pool.invoke(new Split((from, to) -> {
+          try {
+            return countUtf8(file, size, from, to);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }, leaf, 0, size));
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  private static long[] countUtf8(FileChannel file, long size, long from, long to)
+      throws IOException {
+    long start = from == 0 ? 0 : boundary(file, size, from);
+    long end = to == size ? size : boundary(file, size, to);
+    long[] histogram = new long[CHAR_SIZE];
+    if (start < end) {
+      ByteBuffer bytes = file.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+      CharChunks.forEach(bytes, StandardCharsets.UTF_8,
+          (chars, f, t) -> count(chars, f, t, histogram));
+    }
+    return histogram;
+  }
+
+  // First offset at or after {@code offset} that does not hold a UTF-8 continuation byte
+  private static long boundary(FileChannel file, long size, long offset) throws IOException {
+    ByteBuffer peek = ByteBuffer.allocate(3);
+    file.read(peek, offset);
+    for (int i = 0; i < peek.position(); i++) {
+      if ((peek.get(i) & 0xC0) != 0x80) {
+        return offset + i;
+      }
+    }
+    return Math.min(size, offset + peek.position());
+  }
+
+  /** Counts one leaf range into a fresh histogram. */
+  @FunctionalInterface
+  private interface Leaf {
+    long[] count(long from, long to);
+  }
+
+  /**
+   * Fork-join over [from, to): halves until a range is at most {@code leafSize} long, then
+   * merges the two halves' histograms on the way back up.
+   */
+  private static final class Split extends RecursiveTask<long[]> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Leaf leaf;        // tasks are never serialized
+    private final long leafSize;
+    private final long from;
+    private final long to;
+
+    Split(Leaf leaf, long leafSize, long from, long to) {
+      this.leaf = leaf;
+      this.leafSize = leafSize;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (to - from <= leafSize) {
+        return leaf.count(from, to);
+      }
+      long mid = (from + to) >>> 1;
+      Split left = new Split(leaf, leafSize, from, mid);
+      left.fork();
+      long[] right = new Split(leaf, leafSize, mid, to).compute();
+      long[] merged = left.join();
+      for (int c = 0; c < merged.length; c++) {
+        merged[c] += right[c];
+      }
+      return merged;
+    }
+  }
+
+  // ── Helpers ──────────────────────────────────────────────────────────────
+
+  private static void flush(int[] tables, long[] histogram) {
+    for (int b = 0; b < LATIN1_SIZE; b++) {
+      histogram[b] += (long) tables[b] + tables[LATIN1_SIZE + b]
+          + tables[2 * LATIN1_SIZE + b] + tables[3 * LATIN1_SIZE + b];
+    }
+    Arrays.fill(tables, 0);
+  }
+
+  private static void checkRange(int length, int from, int to) {
+    if (from < 0 || to > length || from > to) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + from + ", " + to + ") out of bounds for length " + length);
+    }
+  }
+}
@@ -1,5 +1,10 @@
 package com.hackerrank.strings;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -56,4 +61,42 @@ public class DuplicateRemover {
     System.out.println("Unique characters (Efficient & Ordered): " + sb);
   }
 
+  // ── Streaming variants: same result as removeDuplicates, constant heap ───
+  // The result holds each char value at most once, so it never exceeds 64K chars.
+
+  public String removeDuplicatesStreaming(Reader reader) throws IOException {
+    Distinct distinct = new Distinct();
+    CharChunks.forEach(reader, distinct);
+    return distinct.result.toString();
+  }
+
+  public String removeDuplicatesStreaming(ReadableByteChannel channel, Charset charset)
+      throws IOException {
+    Distinct distinct = new Distinct();
+    CharChunks.forEach(channel, charset, distinct);
+    return distinct.result.toString();
+  }
+
+  public String removeDuplicatesStreaming(Path path, Charset charset) throws IOException {
+    Distinct distinct = new Distinct();
+    CharChunks.forEach(path, charset, distinct);
+    return distinct.result.toString();
+  }
+
+  private static final class Distinct implements CharChunks.Sink {
+    private final boolean[] seen = new boolean[65536];
+    private final StringBuilder result = new StringBuilder();
+
+    @Override
+    public void accept(char[] chars, int from, int to) {
+      for (int i = from; i < to; i++) {
+        char c = chars[i];
+        if (!seen[c]) {
+          seen[c] = true;
+          result.append(c);
+        }
+      }
+    }
+  }
+
 }
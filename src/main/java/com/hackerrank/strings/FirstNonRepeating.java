@@ -1,5 +1,10 @@
 package com.hackerrank.strings;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -83,4 +88,57 @@ public class FirstNonRepeating {
     return -1;
   }
 
+  // ── Streaming variants: same result as firstNonRepeatingChar, constant heap ─
+
+  public char firstNonRepeatingCharStreaming(Reader reader) throws IOException {
+    Tracker tracker = new Tracker();
+    CharChunks.forEach(reader, tracker);
+    return tracker.first();
+  }
+
+  public char firstNonRepeatingCharStreaming(ReadableByteChannel channel, Charset charset)
+      throws IOException {
+    Tracker tracker = new Tracker();
+    CharChunks.forEach(channel, charset, tracker);
+    return tracker.first();
+  }
+
+  public char firstNonRepeatingCharStreaming(Path path, Charset charset) throws IOException {
+    Tracker tracker = new Tracker();
+    CharChunks.forEach(path, charset, tracker);
+    return tracker.first();
+  }
+
+  // Per char value: seen 0, 1 or more times, and the stream position of its first occurrence
+  private static final class Tracker implements CharChunks.Sink {
+    private final byte[] seen = new byte[65536];
+    private final long[] firstAt = new long[65536];
+    private long position;
+
+    @Override
+    public void accept(char[] chars, int from, int to) {
+      for (int i = from; i < to; i++, position++) {
+        char c = chars[i];
+        if (seen[c] == 0) {
+          seen[c] = 1;
+          firstAt[c] = position;
+        } else {
+          seen[c] = 2;
+        }
+      }
+    }
+
+    char first() {
+      char best = '0';
+      long bestAt = Long.MAX_VALUE;
+      for (int c = 0; c < seen.length; c++) {
+        if (seen[c] == 1 && firstAt[c] < bestAt) {
+          best = (char) c;
+          bestAt = firstAt[c];
+        }
+      }
+      return best;
+    }
+  }
+
 }
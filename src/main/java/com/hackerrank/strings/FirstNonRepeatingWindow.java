@@ -0,0 +1,200 @@
+package com.hackerrank.strings;
+
+import java.util.NoSuchElementException;
+
+/**
+ * First non-repeating character of a sliding window over a char stream: {@link #append}
+ * adds the newest char, {@link #evict} drops the oldest, {@link #firstNonRepeating} answers
+ * for the chars currently in the window. Works over the full {@code char} range.
+ * <p>
+ * Only the last occurrence of a char can be its unique one, and a char is unique exactly
+ * when its count is 1. So per char value we keep a count and the position of its last
+ * occurrence, and per window slot one "unique" bit:
+ * - append c: count 0 -> 1 sets the new slot's bit; 1 -> 2 clears the bit of the previous
+ *   occurrence.
+ * - evict c: count 1 -> 0 clears the evicted slot's bit; 2 -> 1 sets the bit of c's last
+ *   occurrence, which is now its only one.
+ * The answer is the first set bit from the oldest slot on.
+ * <p>
+ * Why not a linked list of unique chars: an eviction (2 -> 1) can make a char unique at a
+ * position in the middle of the current uniques ("c u1 u2 c u3", evict c), which an ordered
+ * list cannot absorb in O(1). The bits sit in a tree of 64-bit words instead: each level
+ * has one bit per word of the level below, set while that word is non-zero, so the first
+ * set bit is found by climbing to the first non-empty word and descending from there.
+ * <p>
+ * The window lives in a power-of-two ring that doubles when full.
+ * <p>
+ * Time:  append / evict O(1) amortized over ring growth, plus at most one word write per
+ *        tree level; firstNonRepeating reads at most 2 words per level. The tree has
+ *        log64(capacity) levels, at most 5 for the largest (2^30-slot) ring, so the query
+ *        is O(log64 window) rather than strictly O(1)
+ * Space: O(65536) per-char state + O(window) ring and bits
+ */
+public class FirstNonRepeatingWindow {
+
+  private static final int CHAR_VALUES = 65536;
+  private static final int MIN_CAPACITY = 64;
+
+  private final int[] count = new int[CHAR_VALUES];
+  private final long[] lastAt = new long[CHAR_VALUES];
+
+  private char[] ring;
+  private int mask;
+  // levels[0]: bit per slot, char there is unique; levels[k + 1]: bit per non-zero word of
+  // levels[k]. The last level is a single word.
+  private long[][] levels;
+  private long head;                         // position of the oldest char
+  private long tail;                         // position the next char gets
+
+  public FirstNonRepeatingWindow() {
+    allocate(MIN_CAPACITY);
+  }
+
+  /**
+   * Add {@code c} as the newest char of the window.
+   */
+  public void append(char c) {
+    if (tail - head == ring.length) {
+      grow();
+    }
+    long position = tail++;
+    ring[slot(position)] = c;
+    int n = ++count[c];
+    if (n == 1) {
+      set(slot(position));
+    } else if (n == 2) {
+      clear(slot(lastAt[c]));                // the earlier occurrence is no longer unique
+    }
+    lastAt[c] = position;
+  }
+
+  /**
+   * Remove and return the oldest char of the window.
+   *
+   * @throws NoSuchElementException if the window is empty
+   */
+  public char evict() {
+    if (head == tail) {
+      throw new NoSuchElementException("Window is empty");
+    }
+    long position = head++;
+    char c = ring[slot(position)];
+    int n = --count[c];
+    if (n == 0) {
+      clear(slot(position));
+    } else if (n == 1) {
+      set(slot(lastAt[c]));                  // the remaining occurrence is the last one
+    }
+    return c;
+  }
+
+  /**
+   * The char that occurs exactly once in the window and comes first, or -1 if there is none
+   * (including an empty window).
+   */
+  public int firstNonRepeating() {
+    if (head == tail) {
+      return -1;
+    }
+    // Bits outside the window are always clear, so wrap-around needs no bounds check
+    int from = slot(head);
+    int found = nextSetBit(from);
+    if (found < 0 && from > 0) {
+      found = nextSetBit(0);
+    }
+    return found < 0 ? -1 : ring[found];
+  }
+
+  public int size() {
+    return (int) (tail - head);
+  }
+
+  // ── Ring and bitset ──────────────────────────────────────────────────────
+
+  private int slot(long position) {
+    return (int) position & mask;
+  }
+
+  private void allocate(int capacity) {
+    ring = new char[capacity];
+    mask = capacity - 1;
+    int height = 1;
+    for (int words = capacity >>> 6; words > 1; words = (words + 63) >>> 6) {
+      height++;
+    }
+    levels = new long[height][];
+    int words = capacity >>> 6;
+    for (int level = 0; level < height; level++) {
+      levels[level] = new long[words];
+      words = (words + 63) >>> 6;
+    }
+  }
+
+  // Double the ring and re-derive the bits from the per-char state
+  private void grow() {
+    char[] old = ring;
+    int oldMask = mask;
+    allocate(old.length * 2);
+    for (long p = head; p < tail; p++) {
+      char c = old[(int) p & oldMask];
+      ring[slot(p)] = c;
+      if (count[c] == 1) {
+        set(slot(p));
+      }
+    }
+  }
+
+  private void set(int slot) {
+    int index = slot;
+    for (long[] bits : levels) {
+      int w = index >>> 6;
+      long before = bits[w];
+      bits[w] = before | 1L << index;
+      if (before != 0) {
+        return;                              // the levels above already see this word
+      }
+      index = w;
+    }
+  }
+
+  private void clear(int slot) {
+    int index = slot;
+    for (long[] bits : levels) {
+      int w = index >>> 6;
+      bits[w] &= ~(1L << index);
+      if (bits[w] != 0) {
+        return;
+      }
+      index = w;
+    }
+  }
+
+  // First set slot >= from, or -1
+  private int nextSetBit(int from) {
+    // Climb until a word has a set bit at or after index
+    int level = 0;
+    int index = from;
+    while (true) {
+      long[] bits = levels[level];
+      int w = index >>> 6;
+      if (w == bits.length) {
+        return -1;
+      }
+      long found = bits[w] & (-1L << index);
+      if (found != 0) {
+        index = (w << 6) + Long.numberOfTrailingZeros(found);
+        break;
+      }
+      if (++level == levels.length) {
+        return -1;
+      }
+      index = w + 1;
+    }
+    // Descend along the first set bit of each word
+    while (level > 0) {
+      level--;
+      index = (index << 6) + Long.numberOfTrailingZeros(levels[level][index]);
+    }
+    return index;
+  }
+}
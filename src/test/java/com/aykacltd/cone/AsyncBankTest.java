@@ -0,0 +1,155 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AsyncBank Tests")
+class AsyncBankTest {
+
+  /**
+   * Engine whose deposits block until released, to hold a lane busy.
+   */
+  private static final class GatedBank extends BankClaude {
+
+    final CountDownLatch gate = new CountDownLatch(1);
+
+    GatedBank(long[] balance) {
+      super(balance);
+    }
+
+    @Override
+    public boolean deposit(int account, long money) {
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return super.deposit(account, money);
+    }
+  }
+
+  @Nested
+  @DisplayName("Results and ordering")
+  class ResultTests {
+
+    @Test
+    @DisplayName("Should complete futures with the engine's results")
+    void testResults() {
+      try (AsyncBank bank = new AsyncBank(new BankClaude(new long[] {10, 100, 20, 50, 30}), 4,
+          16)) {
+        assertTrue(bank.withdrawAsync(3, 10).join());
+        assertTrue(bank.transferAsync(5, 1, 20).join());
+        assertFalse(bank.transferAsync(3, 4, 15).join());
+        assertFalse(bank.depositAsync(6, 1).join());
+        assertEquals(30L, bank.balanceAsync(1).join());
+
+        CompletionException e = assertThrows(CompletionException.class,
+            () -> bank.balanceAsync(0).join());
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+      }
+    }
+
+    @Test
+    @DisplayName("Should apply operations on one account in submission order")
+    void testPerAccountOrdering() {
+      try (AsyncBank bank = new AsyncBank(new BankClaude(new long[] {500}), 1, 2_000)) {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+          results.add(bank.withdrawAsync(1, 1));
+        }
+        for (int i = 0; i < results.size(); i++) {
+          assertEquals(i < 500, results.get(i).join(), "withdrawal " + i);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("Should conserve money across lanes under concurrent transfers")
+    void testConcurrentTransfers() {
+      long[] balances = new long[16];
+      Arrays.fill(balances, 1_000);
+      BankClaude engine = new BankClaude(balances);
+      try (AsyncBank bank = new AsyncBank(engine, 8, 10_000)) {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+          results.add(bank.transferAsync(i % 16 + 1, (i * 5 + 3) % 16 + 1, 3));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+      }
+      assertEquals(16 * 1_000L, Arrays.stream(engine.snapshot()).sum());
+    }
+  }
+
+  @Nested
+  @DisplayName("Backpressure")
+  class BackpressureTests {
+
+    @Test
+    @DisplayName("Should fail fast instead of blocking when a lane is full")
+    void testFullLaneRejects() throws InterruptedException {
+      GatedBank engine = new GatedBank(new long[] {0, 0});
+      try (AsyncBank bank = new AsyncBank(engine, 2, 4)) {
+        List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+          accepted.add(bank.depositAsync(1, 1));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> rejected = bank.depositAsync(1, 1);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+
+        CompletableFuture<Boolean> otherLane = bank.withdrawAsync(2, 1);
+        assertFalse(otherLane.join());       // account 2's lane is unaffected (empty balance)
+        engine.gate.countDown();
+        accepted.forEach(f -> assertTrue(f.join()));
+        assertEquals(4L, bank.balanceAsync(1).join());
+      }
+    }
+
+    @Test
+    @DisplayName("Should fail, not run inline, when the executor rejects the lane")
+    void testExecutorRejectionFailsFuture() {
+      ExecutorService shutDown = Executors.newSingleThreadExecutor();
+      shutDown.shutdown();
+      BankClaude engine = new BankClaude(new long[] {10});
+      try (AsyncBank bank = new AsyncBank(engine, 1, 4, shutDown)) {
+        CompletableFuture<Boolean> result = bank.depositAsync(1, 5);
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertEquals(10L, engine.getBalance(1));
+
+        // Rejected tasks release their slots: capacity 4 would otherwise report "Queue full"
+        for (int i = 0; i < 8; i++) {
+          e = assertThrows(CompletionException.class, bank.withdrawAsync(1, 1)::join);
+          assertFalse(e.getCause().getMessage().startsWith("Queue full"));
+        }
+        assertEquals(10L, engine.getBalance(1));
+      }
+    }
+
+    @Test
+    @DisplayName("Should reject operations after close")
+    void testClosed() {
+      AsyncBank bank = new AsyncBank(new BankClaude(new long[] {1}), 1, 1);
+      bank.close();
+      CompletionException e = assertThrows(CompletionException.class,
+          () -> bank.depositAsync(1, 1).join());
+      assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+  }
+}
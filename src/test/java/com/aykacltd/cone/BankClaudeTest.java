@@ -0,0 +1,411 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BankClaude Tests")
+class BankClaudeTest {
+
+  private BankClaude bank;
+
+  @BeforeEach
+  void setUp() {
+    bank = new BankClaude(new long[] {100, 200, 300, 400, 500});
+  }
+
+  @Nested
+  @DisplayName("transferBatch")
+  class TransferBatchTests {
+
+    @Test
+    @DisplayName("Should apply legs in submission order and report each result")
+    void testLegsAppliedInOrder() {
+      BitSet result = bank.transferBatch(
+          new int[] {1, 2, 1, 3},
+          new int[] {2, 1, 3, 3},
+          new long[] {100, 250, 50, 1000});
+
+      // leg 0: 1→2 100 ok (1:0, 2:300); leg 1: 2→1 250 ok (1:250, 2:50)
+      // leg 2: 1→3 50 ok (1:200, 3:350); leg 3: 3→3 1000 fails (balance check)
+      assertTrue(result.get(0));
+      assertTrue(result.get(1));
+      assertTrue(result.get(2));
+      assertFalse(result.get(3));
+      assertEquals(200, bank.getBalance(1));
+      assertEquals(50, bank.getBalance(2));
+      assertEquals(350, bank.getBalance(3));
+    }
+
+    @Test
+    @DisplayName("Should reject legs with invalid accounts or insufficient funds")
+    void testRejectedLegs() {
+      BitSet result = bank.transferBatch(
+          new int[] {1, 9, 2},
+          new int[] {9, 1, 3},
+          new long[] {10, 10, 201});
+
+      assertTrue(result.isEmpty());
+      assertEquals(100, bank.getBalance(1));
+      assertEquals(200, bank.getBalance(2));
+      assertEquals(300, bank.getBalance(3));
+    }
+
+    @Test
+    @DisplayName("Should let legs draw on the source's credit limit")
+    void testCreditLimit() {
+      assertTrue(bank.setCreditLimit(1, 50));
+      BitSet result = bank.transferBatch(
+          new int[] {1, 1}, new int[] {2, 2}, new long[] {150, 1});
+
+      assertTrue(result.get(0));
+      assertFalse(result.get(1));
+      assertEquals(-50, bank.getBalance(1));
+      assertEquals(350, bank.getBalance(2));
+    }
+
+    @Test
+    @DisplayName("Should reject mismatched array lengths")
+    void testMismatchedLengths() {
+      assertThrows(IllegalArgumentException.class,
+          () -> bank.transferBatch(new int[] {1}, new int[] {2, 3}, new long[] {1}));
+    }
+
+    @RepeatedTest(3)
+    @DisplayName("Should not deadlock with concurrent single transfers and conserve money")
+    void testConcurrentBatchesAndTransfers() throws InterruptedException {
+      int threads = 20;
+      int rounds = 200;
+
+      try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+          final int threadId = t;
+          executor.submit(() -> {
+            try {
+              for (int i = 0; i < rounds; i++) {
+                if (threadId % 2 == 0) {
+                  bank.transferBatch(
+                      new int[] {5, 4, 3, 2, 1},
+                      new int[] {1, 5, 4, 3, 2},
+                      new long[] {3, 3, 3, 3, 3});
+                } else {
+                  bank.transfer((threadId % 5) + 1, ((threadId + 2) % 5) + 1, 3);
+                }
+              }
+            } finally {
+              latch.countDown();
+            }
+          });
+        }
+        assertTrue(latch.await(15, TimeUnit.SECONDS), "Possible deadlock detected");
+      }
+
+      long total = 0;
+      for (int acc = 1; acc <= 5; acc++) {
+        assertTrue(bank.getBalance(acc) >= 0);
+        total += bank.getBalance(acc);
+      }
+      assertEquals(1500, total);
+    }
+  }
+
+  @Nested
+  @DisplayName("Striped locks")
+  class StripedLockTests {
+
+    @Test
+    @DisplayName("Should reject stripe counts that are not a positive power of two")
+    void testInvalidStripeCounts() {
+      long[] balances = {1, 2, 3};
+      assertThrows(IllegalArgumentException.class, () -> new BankClaude(balances, 0));
+      assertThrows(IllegalArgumentException.class, () -> new BankClaude(balances, 3));
+      assertThrows(IllegalArgumentException.class, () -> new BankClaude(balances, -4));
+    }
+
+    @Test
+    @DisplayName("Should transfer between accounts that share a stripe")
+    void testTransferWithinStripe() {
+      BankClaude striped = new BankClaude(new long[] {100, 200, 300, 400, 500}, 2);
+      // accounts 1, 3 and 5 share stripe 0
+      assertTrue(striped.transfer(1, 3, 100));
+      assertFalse(striped.transfer(1, 5, 1));
+      assertTrue(striped.transfer(3, 3, 400));
+      assertFalse(striped.transfer(3, 3, 401));
+      assertEquals(0, striped.getBalance(1));
+      assertEquals(400, striped.getBalance(3));
+    }
+
+    @RepeatedTest(3)
+    @DisplayName("Should conserve money with a single stripe under contention")
+    void testSingleStripeConservation() throws InterruptedException {
+      BankClaude striped = new BankClaude(new long[] {1000, 1000, 1000, 1000}, 1);
+      int threads = 16;
+
+      try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+          final int threadId = t;
+          executor.submit(() -> {
+            try {
+              for (int i = 0; i < 500; i++) {
+                striped.transfer((threadId % 4) + 1, ((threadId + i) % 4) + 1, 7);
+                if (i % 50 == 0) {
+                  striped.transferBatch(new int[] {4, 1}, new int[] {1, 4}, new long[] {5, 5});
+                }
+              }
+            } finally {
+              latch.countDown();
+            }
+          });
+        }
+        assertTrue(latch.await(15, TimeUnit.SECONDS), "Possible deadlock detected");
+      }
+
+      long total = 0;
+      for (int acc = 1; acc <= 4; acc++) {
+        total += striped.getBalance(acc);
+      }
+      assertEquals(4000, total);
+    }
+  }
+
+  @Nested
+  @DisplayName("snapshot")
+  class SnapshotTests {
+
+    @Test
+    @DisplayName("Should return every balance in account order")
+    void testSnapshotMatchesBalances() {
+      bank.transfer(5, 1, 50);
+      assertArrayEquals(new long[] {150, 200, 300, 400, 450}, bank.snapshot());
+      bank.deposit(2, 1);
+      assertArrayEquals(new long[] {150, 201, 300, 400, 450}, bank.snapshot());
+    }
+
+    @RepeatedTest(3)
+    @DisplayName("Should conserve the total in every snapshot taken during transfers")
+    void testSnapshotConsistentUnderLoad() throws InterruptedException {
+      assertSnapshotsConserveTotal(new BankClaude(new long[] {1000, 1000, 1000, 1000, 1000}));
+      assertSnapshotsConserveTotal(new BankClaude(new long[] {1000, 1000, 1000, 1000, 1000}, 2));
+    }
+
+    private void assertSnapshotsConserveTotal(BankClaude target) throws InterruptedException {
+      int writers = 8;
+      try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+        CountDownLatch latch = new CountDownLatch(writers);
+        for (int t = 0; t < writers; t++) {
+          final int threadId = t;
+          executor.submit(() -> {
+            try {
+              for (int i = 0; i < 20_000; i++) {
+                int from = (threadId + i) % 5 + 1;
+                int to = (threadId + 2 * i + 1) % 5 + 1;
+                if (i % 10 == 0) {
+                  target.transferBatch(new int[] {from, to}, new int[] {to, from},
+                      new long[] {7, 3});
+                } else {
+                  target.transfer(from, to, 7);
+                }
+              }
+            } finally {
+              latch.countDown();
+            }
+          });
+        }
+
+        int snapshots = 0;
+        while (latch.getCount() > 0 || snapshots == 0) {
+          long total = 0;
+          for (long balance : target.snapshot()) {
+            assertTrue(balance >= 0, "Snapshot saw a negative balance");
+            total += balance;
+          }
+          assertEquals(5000, total, "Snapshot was not a consistent cut");
+          snapshots++;
+        }
+        assertTrue(latch.await(15, TimeUnit.SECONDS));
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Idempotent transfer")
+  class IdempotentTransferTests {
+
+    @Test
+    @DisplayName("Should return the original result for a retried request id")
+    void testRetryDoesNotDoubleSpend() {
+      assertTrue(bank.transfer(42L, 1, 2, 60));
+      assertTrue(bank.transfer(42L, 1, 2, 60));   // retry: no second debit
+      assertEquals(40, bank.getBalance(1));
+      assertEquals(260, bank.getBalance(2));
+
+      assertTrue(bank.transfer(43L, 1, 2, 40));   // new id runs normally
+      assertEquals(0, bank.getBalance(1));
+    }
+
+    @Test
+    @DisplayName("Should replay a rejected result even after funds arrive")
+    void testRejectedResultIsRemembered() {
+      assertFalse(bank.transfer(7L, 1, 2, 150));
+      bank.deposit(1, 100);
+      assertFalse(bank.transfer(7L, 1, 2, 150));
+      assertEquals(200, bank.getBalance(1));
+    }
+
+    @Test
+    @DisplayName("Should still deduplicate a retry after a million newer requests")
+    void testRetryAfterManyRequests() {
+      assertTrue(bank.transfer(-1L, 1, 2, 60));
+      for (long id = 0; id < 1_100_000; id++) {
+        bank.transfer(id, 3, 4, 0);
+      }
+      assertTrue(bank.transfer(-1L, 1, 2, 60));   // retry inside the TTL: no second debit
+      assertEquals(40, bank.getBalance(1));
+      assertEquals(260, bank.getBalance(2));
+    }
+
+    @Test
+    @DisplayName("Should apply a request once when duplicates race")
+    void testConcurrentDuplicates() throws InterruptedException {
+      int threads = 16;
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      CountDownLatch start = new CountDownLatch(1);
+      CountDownLatch done = new CountDownLatch(threads);
+      for (int t = 0; t < threads; t++) {
+        executor.submit(() -> {
+          try {
+            start.await();
+            assertTrue(bank.transfer(99L, 5, 4, 10));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            done.countDown();
+          }
+        });
+      }
+      start.countDown();
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      executor.shutdown();
+
+      assertEquals(490, bank.getBalance(5));
+      assertEquals(410, bank.getBalance(4));
+    }
+  }
+
+  @Nested
+  @DisplayName("post (multi-leg)")
+  class PostTests {
+
+    private BankClaude.Leg leg(int account, long amount) {
+      return new BankClaude.Leg(account, amount);
+    }
+
+    @Test
+    @DisplayName("Should apply a balanced payroll posting atomically")
+    void testPayroll() {
+      assertTrue(bank.post(new BankClaude.Leg[] {
+          leg(5, -300), leg(1, 100), leg(2, 100), leg(3, 100)}));
+      assertArrayEquals(new long[] {200, 300, 400, 400, 200}, bank.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should net legs on the same account before checking funds")
+    void testNetting() {
+      // account 1 pays 150 but also receives 100: net -50 fits its balance of 100
+      assertTrue(bank.post(new BankClaude.Leg[] {
+          leg(1, -150), leg(2, 50), leg(1, 100)}));
+      assertEquals(50, bank.getBalance(1));
+      assertEquals(250, bank.getBalance(2));
+    }
+
+    @Test
+    @DisplayName("Should change nothing when one debit is not covered")
+    void testInsufficientFunds() {
+      assertFalse(bank.post(new BankClaude.Leg[] {
+          leg(1, -100), leg(2, -201), leg(3, 301)}));
+      assertArrayEquals(new long[] {100, 200, 300, 400, 500}, bank.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should let a debit leg draw on the account's credit limit")
+    void testCreditLimit() {
+      assertTrue(bank.setCreditLimit(1, 50));
+      assertFalse(bank.post(new BankClaude.Leg[] {leg(1, -151), leg(2, 151)}));
+      assertTrue(bank.post(new BankClaude.Leg[] {leg(1, -150), leg(2, 150)}));
+      assertEquals(-50, bank.getBalance(1));
+      assertEquals(350, bank.getBalance(2));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid accounts and unbalanced legs")
+    void testValidation() {
+      assertFalse(bank.post(new BankClaude.Leg[] {leg(1, -10), leg(6, 10)}));
+      assertThrows(IllegalArgumentException.class,
+          () -> bank.post(new BankClaude.Leg[] {leg(1, -10), leg(2, 9)}));
+      assertThrows(IllegalArgumentException.class,
+          () -> bank.post(new BankClaude.Leg[] {leg(1, Long.MAX_VALUE), leg(2, 1)}));
+      assertTrue(bank.post(new BankClaude.Leg[0]));
+      assertArrayEquals(new long[] {100, 200, 300, 400, 500}, bank.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should fail the posting instead of wrapping around near Long.MAX_VALUE")
+    void testOverflow() {
+      // balanced overall, but account 1 nets to 2 * MAX_VALUE
+      assertThrows(IllegalArgumentException.class, () -> bank.post(new BankClaude.Leg[] {
+          leg(1, Long.MAX_VALUE), leg(2, -Long.MAX_VALUE),
+          leg(1, Long.MAX_VALUE), leg(2, -Long.MAX_VALUE)}));
+      // a debit of MIN_VALUE cannot be negated to compare with the balance
+      assertFalse(bank.post(new BankClaude.Leg[] {
+          leg(1, Long.MIN_VALUE), leg(2, Long.MAX_VALUE), leg(3, 1)}));
+      assertArrayEquals(new long[] {100, 200, 300, 400, 500}, bank.snapshot());
+
+      BankClaude rich = new BankClaude(new long[] {100, Long.MAX_VALUE - 10});
+      assertFalse(rich.post(new BankClaude.Leg[] {leg(1, -20), leg(2, 20)}));
+      assertArrayEquals(new long[] {100, Long.MAX_VALUE - 10}, rich.snapshot());
+      assertTrue(rich.post(new BankClaude.Leg[] {leg(1, -10), leg(2, 10)}));
+      assertEquals(Long.MAX_VALUE, rich.getBalance(2));
+    }
+
+    @Test
+    @DisplayName("Should not deadlock with concurrent transfers and conserve money")
+    void testConcurrentPostsAndTransfers() throws InterruptedException {
+      BankClaude striped = new BankClaude(new long[] {1000, 1000, 1000, 1000, 1000, 1000}, 4);
+      int threads = 8;
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      CountDownLatch latch = new CountDownLatch(threads);
+      for (int t = 0; t < threads; t++) {
+        final int tid = t;
+        executor.submit(() -> {
+          try {
+            for (int i = 0; i < 2_000; i++) {
+              if (tid % 2 == 0) {
+                striped.post(new BankClaude.Leg[] {
+                    leg(6 - i % 3, -3), leg(1 + i % 2, 1), leg(3, 1), leg(4 + i % 2, 1)});
+              } else {
+                striped.transfer(1 + i % 6, 6 - i % 6, 2);
+              }
+            }
+          } finally {
+            latch.countDown();
+          }
+        });
+      }
+      assertTrue(latch.await(30, TimeUnit.SECONDS), "deadlock");
+      executor.shutdown();
+      assertEquals(6000, Arrays.stream(striped.snapshot()).sum());
+    }
+  }
+}
@@ -3,7 +3,6 @@ package com.aykacltd.cone;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.lang.reflect.Field;
-import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -35,14 +34,13 @@ class BankConcurrencyTest {
 
   // ── Reflection helpers ────────────────────────────────────────────────────
 
-  @SuppressWarnings("unchecked")
   private long balance(Bank bank, int accountId) {
     try {
-      Field mapField = Bank.class.getDeclaredField("map");
-      mapField.setAccessible(true);
-      Map<Integer, Account> map = (Map<Integer, Account>) mapField.get(bank);
+      Field accountsField = Bank.class.getDeclaredField("accounts");
+      accountsField.setAccessible(true);
+      Account[] accounts = (Account[]) accountsField.get(bank);
 
-      Account account = map.get(accountId);
+      Account account = accounts[accountId - 1];
       Field balanceField = Account.class.getDeclaredField("balance");
       balanceField.setAccessible(true);
       return balanceField.getLong(account);
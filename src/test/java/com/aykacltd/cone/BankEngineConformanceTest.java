@@ -0,0 +1,633 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Conformance and throughput suite shared by every {@link BankEngine}.
+ *
+ * <p>Each test runs once per engine under an identical workload, so a new concurrency strategy
+ * only needs an entry in {@link #engines()} to be held to the same invariants:
+ * <ul>
+ *   <li><b>Semantics</b>          – LeetCode 2043 results and invalid-account handling</li>
+ *   <li><b>Deposit atomicity</b>  – exact balance after N concurrent deposits</li>
+ *   <li><b>No-overdraft</b>       – balance never goes negative</li>
+ *   <li><b>Money conservation</b> – total balance is unchanged by transfers</li>
+ *   <li><b>Deadlock freedom</b>   – circular transfers always complete within a timeout</li>
+ *   <li><b>Reader fairness</b>    – concurrent readers neither block a writer nor see a
+ *       balance it never wrote</li>
+ * </ul>
+ * <p>A last section holds the {@link Bank} internals (allocation-free lookup, hot accounts)
+ * that have no counterpart in other engines.
+ */
+@DisplayName("BankEngine – Conformance")
+class BankEngineConformanceTest {
+
+  // Engines created by the current test that own threads, mappings or files
+  private static final List<AutoCloseable> OPEN = new ArrayList<>();
+
+  @AfterEach
+  void closeEngines() throws Exception {
+    for (AutoCloseable engine : OPEN) {
+      engine.close();
+    }
+    OPEN.clear();
+  }
+
+  private static <T extends BankEngine & AutoCloseable> T closedAfterTest(T engine) {
+    OPEN.add(engine);
+    return engine;
+  }
+
+  static Stream<Named<Function<long[], BankEngine>>> engines() {
+    return Stream.of(
+        Named.of("Bank", Bank::new),
+        Named.of("Bank(hotPromoteAfter=1)", balances -> new Bank(balances, 1)),
+        Named.of("BankReadWrite", BankReadWrite::new),
+        Named.of("BankClaude", BankClaude::new),
+        Named.of("BankClaude(stripes=2)", balances -> new BankClaude(balances, 2)),
+        Named.of("LockFreeBank", LockFreeBank::new),
+        Named.of("ShardedBank(shards=3)",
+            balances -> closedAfterTest(new ShardedBank(balances, 3))),
+        Named.of("MappedBank", BankEngineConformanceTest::mapped),
+        Named.of("JournaledBank(BankClaude)", BankEngineConformanceTest::journaled),
+        Named.of("RecordingBank(LockFreeBank)",
+            balances -> new RecordingBank(new LockFreeBank(balances))),
+        Named.of("AsyncBank(BankClaude), blocking",
+            balances -> closedAfterTest(new BlockingAsyncBank(new BankClaude(balances)))),
+        Named.of("Question4.Bank", BankEngineConformanceTest::question4),
+        Named.of("BlockingSectionBank(synchronized)", balances -> new BlockingSectionBank(
+            balances, BlockingSectionBank.Locking.SYNCHRONIZED, 0)),
+        Named.of("BlockingSectionBank(ReentrantLock)", balances -> new BlockingSectionBank(
+            balances, BlockingSectionBank.Locking.REENTRANT_LOCK, 0))
+    );
+  }
+
+  private static BankEngine mapped(long[] balances) {
+    try {
+      Path ledger = Files.createTempFile("ledger", ".bin");
+      MappedBank bank = closedAfterTest(MappedBank.create(ledger, balances));
+      OPEN.add(() -> Files.deleteIfExists(ledger));
+      return bank;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static BankEngine journaled(long[] balances) {
+    try {
+      Path dir = Files.createTempDirectory("journal");
+      Path file = dir.resolve("bank.journal");
+      JournaledBank bank = closedAfterTest(JournaledBank.recover(file, balances,
+          BankClaude::new, 64, 50));
+      OPEN.add(() -> {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+      });
+      return bank;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * {@link AsyncBank} behind the synchronous SPI: every call waits for its future.
+   */
+  private static final class BlockingAsyncBank implements BankEngine, AutoCloseable {
+
+    private final BankEngine engine;
+    private final AsyncBank async;
+
+    BlockingAsyncBank(BankEngine engine) {
+      this.engine = engine;
+      this.async = new AsyncBank(engine, 4, 1024);
+    }
+
+    @Override
+    public boolean deposit(int account, long money) {
+      return async.depositAsync(account, money).join();
+    }
+
+    @Override
+    public boolean withdraw(int account, long money) {
+      return async.withdrawAsync(account, money).join();
+    }
+
+    @Override
+    public boolean transfer(int account1, int account2, long money) {
+      return async.transferAsync(account1, account2, money).join();
+    }
+
+    @Override
+    public long getBalance(int account) {
+      try {
+        return async.balanceAsync(account).join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof IllegalArgumentException invalid) {
+          throw invalid;
+        }
+        throw e;
+      }
+    }
+
+    @Override
+    public int size() {
+      return engine.size();
+    }
+
+    @Override
+    public void close() {
+      async.close();
+    }
+  }
+
+  private static BankEngine question4(long[] balances) {
+    Question4.Bank bank = new Question4.Bank("Conformance");
+    for (int i = 0; i < balances.length; i++) {
+      bank.createAccount("Owner" + (i + 1), balances[i]);
+    }
+    return bank;
+  }
+
+  private static long total(BankEngine bank, int numAccounts) {
+    long total = 0;
+    for (int i = 1; i <= numAccounts; i++) {
+      total += bank.getBalance(i);
+    }
+    return total;
+  }
+
+  /**
+   * Starts {@code threads} workers on a shared latch, waits for them and fails on timeout.
+   */
+  private static void runConcurrently(int threads, long timeoutSeconds, IntConsumer worker)
+      throws InterruptedException {
+    try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+      CountDownLatch start = new CountDownLatch(1);
+      CountDownLatch done = new CountDownLatch(threads);
+      for (int t = 0; t < threads; t++) {
+        final int threadId = t;
+        pool.submit(() -> {
+          try {
+            start.await();
+            worker.accept(threadId);
+          } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+          } finally {
+            done.countDown();
+          }
+        });
+      }
+      start.countDown();
+      assertTrue(done.await(timeoutSeconds, TimeUnit.SECONDS),
+          "Threads did not finish – possible deadlock");
+    }
+  }
+
+  @FunctionalInterface
+  private interface IntConsumer {
+    void accept(int threadId) throws InterruptedException;
+  }
+
+  // ── 1. Semantics ──────────────────────────────────────────────────────────
+
+  @Nested
+  @DisplayName("1. Semantics")
+  class Semantics {
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Matches the LeetCode 2043 example")
+    void leetCodeExample(Function<long[], BankEngine> factory) {
+      BankEngine bank = factory.apply(new long[] {10, 100, 20, 50, 30});
+      assertTrue(bank.withdraw(3, 10));
+      assertTrue(bank.transfer(5, 1, 20));
+      assertTrue(bank.deposit(5, 20));
+      assertFalse(bank.transfer(3, 4, 15));
+      assertFalse(bank.withdraw(10, 50));
+
+      assertEquals(30, bank.getBalance(1));
+      assertEquals(10, bank.getBalance(3));
+      assertEquals(30, bank.getBalance(5));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Rejects operations on non-existent accounts")
+    void invalidAccounts(Function<long[], BankEngine> factory) {
+      BankEngine bank = factory.apply(new long[] {100, 200});
+      assertFalse(bank.deposit(0, 1));
+      assertFalse(bank.deposit(3, 1));
+      assertFalse(bank.withdraw(3, 1));
+      assertFalse(bank.transfer(1, 3, 1));
+      assertFalse(bank.transfer(3, 1, 1));
+      assertFalse(bank.transfer(Integer.MIN_VALUE, 1, 1));
+      assertFalse(bank.withdraw(Integer.MAX_VALUE, 1));
+      assertThrows(IllegalArgumentException.class, () -> bank.getBalance(3));
+      assertEquals(300, total(bank, 2));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("A funded transfer to the same account succeeds and changes nothing")
+    void selfTransfer(Function<long[], BankEngine> factory) {
+      BankEngine bank = factory.apply(new long[] {500});
+      assertTrue(bank.transfer(1, 1, 500));
+      assertFalse(bank.transfer(1, 1, 501));
+      assertEquals(500, bank.getBalance(1));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Snapshot matches the balances of a quiescent bank")
+    void snapshotWhenQuiescent(Function<long[], BankEngine> factory) {
+      BankEngine bank = factory.apply(new long[] {10, 20, 30});
+      assertEquals(3, bank.size());
+      bank.transfer(3, 1, 30);
+      bank.withdraw(2, 5);
+      assertArrayEquals(new long[] {40, 15, 0}, bank.snapshot());
+    }
+  }
+
+  // ── 2. Concurrency invariants ─────────────────────────────────────────────
+
+  @Nested
+  @DisplayName("2. Concurrency invariants")
+  class ConcurrencyInvariants {
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Concurrent deposits must not lose updates")
+    void noLostUpdates(Function<long[], BankEngine> factory) throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {0});
+      int threads = 20;
+      int depositsPerThread = 500;
+
+      runConcurrently(threads, 15, threadId -> {
+        for (int i = 0; i < depositsPerThread; i++) {
+          bank.deposit(1, 3L);
+        }
+      });
+
+      assertEquals(3L * threads * depositsPerThread, bank.getBalance(1));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Balance must never go negative under concurrent withdrawals")
+    void balanceNeverNegative(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      long initial = 1_000L;
+      BankEngine bank = factory.apply(new long[] {initial});
+      AtomicInteger successes = new AtomicInteger();
+
+      runConcurrently(20, 15, threadId -> {
+        for (int i = 0; i < 100; i++) {
+          if (bank.withdraw(1, 7L)) {
+            successes.incrementAndGet();
+          }
+        }
+      });
+
+      long finalBalance = bank.getBalance(1);
+      assertTrue(finalBalance >= 0, "Balance went negative: " + finalBalance);
+      assertEquals(initial - 7L * successes.get(), finalBalance);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Racing transfers succeed exactly as often as the balance allows")
+    void rejectedTransfersPreserveBalances(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {100L, 0L});
+      AtomicInteger successes = new AtomicInteger();
+
+      runConcurrently(20, 10, threadId -> {
+        for (int i = 0; i < 100; i++) {
+          if (bank.transfer(1, 2, 50L)) {
+            successes.incrementAndGet();
+          }
+        }
+      });
+
+      assertEquals(2, successes.get(), "More transfers succeeded than the balance allows");
+      assertEquals(0L, bank.getBalance(1));
+      assertEquals(100L, bank.getBalance(2));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Total balance is conserved across concurrent ring transfers")
+    void totalBalanceConserved(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      int numAccounts = 5;
+      BankEngine bank = factory.apply(new long[] {1_000L, 1_000L, 1_000L, 1_000L, 1_000L});
+
+      runConcurrently(25, 15, threadId -> {
+        for (int i = 0; i < 400; i++) {
+          int from = (threadId % numAccounts) + 1;
+          int to = (from % numAccounts) + 1;
+          bank.transfer(from, to, 10L);
+        }
+      });
+
+      assertEquals(5_000L, total(bank, numAccounts), "Money was created or destroyed");
+      for (int acc = 1; acc <= numAccounts; acc++) {
+        assertTrue(bank.getBalance(acc) >= 0, "Account " + acc + " went negative");
+      }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Circular transfers between two accounts complete without deadlock")
+    void bidirectionalTransfers(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {2_000L, 2_000L});
+
+      runConcurrently(20, 10, threadId -> {
+        for (int i = 0; i < 500; i++) {
+          if (threadId % 2 == 0) {
+            bank.transfer(1, 2, 5L);
+          } else {
+            bank.transfer(2, 1, 5L);
+          }
+        }
+      });
+
+      assertEquals(4_000L, total(bank, 2));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Mixed operations keep the ledger consistent")
+    void mixedOperations(Function<long[], BankEngine> factory) throws InterruptedException {
+      int numAccounts = 4;
+      long perAccount = 1_000L;
+      BankEngine bank = factory.apply(new long[] {perAccount, perAccount, perAccount, perAccount});
+      AtomicLong netDeposited = new AtomicLong();
+
+      runConcurrently(30, 20, threadId -> {
+        for (int i = 0; i < 300; i++) {
+          int account = (threadId % numAccounts) + 1;
+          int other = ((threadId + 1) % numAccounts) + 1;
+          switch (i % 3) {
+            case 0:
+              bank.deposit(account, 5L);
+              netDeposited.addAndGet(5L);
+              break;
+            case 1:
+              if (bank.withdraw(account, 5L)) {
+                netDeposited.addAndGet(-5L);
+              }
+              break;
+            case 2:
+              bank.transfer(account, other, 5L);
+              break;
+          }
+        }
+      });
+
+      assertEquals(perAccount * numAccounts + netDeposited.get(), total(bank, numAccounts));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Concurrent self-transfers all succeed and leave the balance unchanged")
+    void concurrentSelfTransfers(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {500});
+      AtomicInteger successes = new AtomicInteger();
+
+      runConcurrently(10, 10, threadId -> {
+        for (int i = 0; i < 100; i++) {
+          if (bank.transfer(1, 1, 1)) {
+            successes.incrementAndGet();
+          }
+        }
+      });
+
+      assertEquals(1_000, successes.get());
+      assertEquals(500, bank.getBalance(1));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("An account drained while it is credited neither overdrafts nor loses credits")
+    void drainWhileCredited(Function<long[], BankEngine> factory) throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {0, 1_000_000});
+      int creditors = 8;
+      int creditsEach = 2_000;
+      AtomicLong credited = new AtomicLong();
+      AtomicLong withdrawn = new AtomicLong();
+
+      runConcurrently(creditors + 2, 20, threadId -> {
+        for (int i = 0; i < creditsEach; i++) {
+          if (threadId < creditors) {
+            if (bank.transfer(2, 1, 1)) {
+              credited.incrementAndGet();
+            }
+          } else if (bank.withdraw(1, 3)) {
+            withdrawn.addAndGet(3);
+          }
+        }
+      });
+
+      assertEquals((long) creditors * creditsEach, credited.get(), "every credit is funded");
+      assertEquals(credited.get() - withdrawn.get(), bank.getBalance(1));
+      assertEquals(1_000_000 - credited.get(), bank.getBalance(2));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Readers do not starve a writer or hide its updates")
+    void writerNextToReaders(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {10_000});
+      int readers = 20;
+      AtomicInteger writes = new AtomicInteger();
+      AtomicLong lowestRead = new AtomicLong(Long.MAX_VALUE);
+
+      runConcurrently(readers + 1, 10, threadId -> {
+        for (int i = 0; i < 500; i++) {
+          if (threadId < readers) {
+            lowestRead.accumulateAndGet(bank.getBalance(1), Math::min);
+          } else if (bank.withdraw(1, 1)) {
+            writes.incrementAndGet();
+          }
+        }
+      });
+
+      assertEquals(500, writes.get(), "every write completes");
+      assertTrue(lowestRead.get() >= 10_000 - 500, "read " + lowestRead.get());
+      assertEquals(10_000 - 500, bank.getBalance(1));
+    }
+  }
+
+  // ── 3. Throughput ─────────────────────────────────────────────────────────
+
+  @Nested
+  @DisplayName("3. Throughput")
+  class Throughput {
+
+    private static final int THREADS = 20;
+    private static final int OPS_PER_THREAD = 5_000;
+
+    // Ops/sec of a deposit/withdraw/transfer mix; hot: every thread on accounts 1 and 2
+    private double mixedThroughput(BankEngine bank, boolean hot) throws InterruptedException {
+      long startTime = System.nanoTime();
+      runConcurrently(THREADS, 30, threadId -> {
+        int account = hot ? 1 : (threadId % 5) + 1;
+        int targetAccount = hot ? 2 : ((threadId + 1) % 5) + 1;
+        for (int i = 0; i < OPS_PER_THREAD; i++) {
+          switch (i % 3) {
+            case 0:
+              bank.deposit(account, 1);
+              break;
+            case 1:
+              bank.withdraw(account, 1);
+              break;
+            case 2:
+              bank.transfer(account, targetAccount, 1);
+              break;
+          }
+        }
+      });
+      long totalTimeNanos = System.nanoTime() - startTime;
+      return (double) THREADS * OPS_PER_THREAD / totalTimeNanos * 1_000_000_000L;
+    }
+
+    private void report(BankEngine bank, String workload, double opsPerSecond) {
+      System.out.printf("%-16s | %-6s | threads=%d | ops=%d | %.0f ops/sec%n",
+          bank.getClass().getName().replace("com.aykacltd.cone.", ""), workload, THREADS,
+          THREADS * OPS_PER_THREAD, opsPerSecond);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Measure mixed operations throughput")
+    void measureMixedOperationsThroughput(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {100000, 100000, 100000, 100000, 100000});
+      double opsPerSecond = mixedThroughput(bank, false);
+      report(bank, "mixed", opsPerSecond);
+      assertTrue(opsPerSecond > 10000, "Should handle at least 10,000 ops/sec");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Measure hot-account throughput")
+    void measureHotAccountThroughput(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {100000, 100000});
+      double opsPerSecond = mixedThroughput(bank, true);
+      report(bank, "hot", opsPerSecond);
+      assertTrue(opsPerSecond > 10000, "Should handle at least 10,000 ops/sec");
+      assertTrue(total(bank, 2) <= 200000 + (long) THREADS * OPS_PER_THREAD / 3,
+          "Money was created");
+    }
+
+    // Ops/sec of one account read by every thread, with 1 deposit of 1 in 10 operations
+    private double readHeavyThroughput(BankEngine bank, int threads)
+        throws InterruptedException {
+      long startTime = System.nanoTime();
+      runConcurrently(threads, 30, threadId -> {
+        for (int i = 0; i < OPS_PER_THREAD; i++) {
+          if (i % 10 == 0) {
+            bank.deposit(1, 1);
+          } else {
+            bank.getBalance(1);
+          }
+        }
+      });
+      long totalTimeNanos = System.nanoTime() - startTime;
+      return (double) threads * OPS_PER_THREAD / totalTimeNanos * 1_000_000_000L;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankEngineConformanceTest#engines")
+    @DisplayName("Measure read concurrency at a 90/10 read/write mix")
+    void measureReadHeavyThroughput(Function<long[], BankEngine> factory)
+        throws InterruptedException {
+      BankEngine bank = factory.apply(new long[] {100000});
+      readHeavyThroughput(bank, THREADS);    // warm up, or JIT time skews the 1-thread run
+      double single = readHeavyThroughput(bank, 1);
+      double concurrent = readHeavyThroughput(bank, THREADS);
+      report(bank, "90/10", concurrent);
+      System.out.printf("%-16s | 90/10  | speed-up over 1 thread: %.2fx%n",
+          bank.getClass().getName().replace("com.aykacltd.cone.", ""), concurrent / single);
+
+      assertTrue(concurrent > 10000, "Should handle at least 10,000 ops/sec");
+      assertEquals(100000 + (1L + 2 * THREADS) * OPS_PER_THREAD / 10, bank.getBalance(1),
+          "No deposit may be lost next to the readers");
+    }
+  }
+
+  // ── 4. Bank internals ─────────────────────────────────────────────────────
+
+  @Nested
+  @DisplayName("4. Bank internals")
+  class BankInternals {
+
+    @Test
+    @DisplayName("Account lookup does not allocate for ids outside the Integer cache")
+    void transferDoesNotAllocate() {
+      long[] balances = new long[4096];
+      Arrays.fill(balances, 1_000_000);
+      Bank bank = new Bank(balances);
+      com.sun.management.ThreadMXBean threads =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      long threadId = Thread.currentThread().threadId();
+
+      for (int i = 0; i < 10_000; i++) {       // warm up
+        bank.transfer(1000 + i % 2000, 3000 + i % 1000, 1);
+      }
+      long before = threads.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < 100_000; i++) {
+        bank.transfer(1000 + i % 2000, 3000 + i % 1000, 1);
+        bank.deposit(2000 + i % 2000, 1);
+      }
+      long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+      // Boxing two Integer keys per lookup used to cost several MB here
+      assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("A promoted hot account keeps exact balances")
+    void promotedAccountBalances() {
+      Account account = new Account(100);
+      account.promoteToHot();
+      assertTrue(account.isHot());
+      assertTrue(account.deposit(50));
+      assertFalse(account.withdraw(151));
+      assertTrue(account.withdraw(150));
+      assertEquals(0, account.getBalance());
+      assertTrue(account.deposit(7));
+      assertEquals(7, account.getBalance());
+    }
+  }
+}
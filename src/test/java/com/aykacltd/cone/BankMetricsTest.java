@@ -0,0 +1,150 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@DisplayName("BankMetrics Tests")
+class BankMetricsTest {
+
+  static Stream<Named<Function<long[], BankEngine>>> instrumentedEngines() {
+    return Stream.of(
+        Named.of("Bank", Bank::new),
+        Named.of("BankReadWrite", BankReadWrite::new),
+        Named.of("BankClaude", BankClaude::new));
+  }
+
+  private static BankMetrics metricsOf(BankEngine bank) {
+    if (bank instanceof Bank b) {
+      return b.metrics();
+    }
+    if (bank instanceof BankReadWrite b) {
+      return b.metrics();
+    }
+    return ((BankClaude) bank).metrics();
+  }
+
+  @Nested
+  @DisplayName("Counters and latencies")
+  class CounterTests {
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.aykacltd.cone.BankMetricsTest#instrumentedEngines")
+    @DisplayName("Should count successes and rejects per operation")
+    void testCounters(Function<long[], BankEngine> factory) {
+      BankEngine bank = factory.apply(new long[] {10, 100, 20, 50, 30});
+      bank.withdraw(3, 10);                  // success
+      bank.transfer(5, 1, 20);               // success
+      bank.deposit(5, 20);                   // success
+      bank.transfer(3, 4, 15);               // reject: insufficient funds
+      bank.transfer(3, 2, 10);               // success
+      bank.deposit(9, 1);                    // reject: no such account
+      bank.getBalance(1);
+      assertThrows(IllegalArgumentException.class, () -> bank.getBalance(0));
+
+      BankMetrics.Snapshot snapshot = metricsOf(bank).snapshot();
+
+      assertStats(snapshot, BankMetrics.Op.DEPOSIT, 1, 1);
+      assertStats(snapshot, BankMetrics.Op.WITHDRAW, 1, 0);
+      assertStats(snapshot, BankMetrics.Op.TRANSFER, 2, 1);
+      assertStats(snapshot, BankMetrics.Op.BALANCE, 1, 1);
+      BankMetrics.OpStats transfers = snapshot.ops().get(BankMetrics.Op.TRANSFER);
+      assertTrue(transfers.p50Nanos() <= transfers.p99Nanos());
+      assertTrue(transfers.p99Nanos() <= transfers.p999Nanos());
+      assertEquals(0, snapshot.contendedLockAcquisitions());
+    }
+
+    @Test
+    @DisplayName("Should count holds like every other operation")
+    void testHoldCounters() {
+      BankClaude bank = new BankClaude(new long[] {100, 100});
+      long first = bank.reserve(1, 40);      // success
+      long second = bank.reserve(2, 30);     // success
+      bank.reserve(1, 500);                  // reject: insufficient funds
+      bank.capture(first, 25);               // success
+      bank.capture(first, 25);               // reject: already settled
+      bank.release(second);                  // success
+      bank.release(ReservingBankEngine.NO_HOLD);     // reject: no such hold
+
+      BankMetrics.Snapshot snapshot = bank.metrics().snapshot();
+
+      assertStats(snapshot, BankMetrics.Op.RESERVE, 2, 1);
+      assertStats(snapshot, BankMetrics.Op.CAPTURE, 1, 1);
+      assertStats(snapshot, BankMetrics.Op.RELEASE, 1, 1);
+      assertStats(snapshot, BankMetrics.Op.WITHDRAW, 0, 0);
+    }
+
+    private void assertStats(BankMetrics.Snapshot snapshot, BankMetrics.Op op, long successes,
+                             long rejects) {
+      BankMetrics.OpStats stats = snapshot.ops().get(op);
+      assertEquals(successes, stats.successes(), op + " successes");
+      assertEquals(rejects, stats.rejects(), op + " rejects");
+    }
+  }
+
+  @Nested
+  @DisplayName("Lock wait and JMX")
+  class LockWaitTests {
+
+    @Test
+    @DisplayName("Should time a deposit that waits for a held account lock")
+    void testLockWaitIsRecorded() throws Exception {
+      BankClaude bank = new BankClaude(new long[] {100});
+      Field locksField = BankClaude.class.getDeclaredField("locks");
+      locksField.setAccessible(true);
+      ReentrantLock lock = ((ReentrantLock[]) locksField.get(bank))[0];
+
+      lock.lock();
+      Thread depositor = new Thread(() -> bank.deposit(1, 5));
+      try {
+        depositor.start();
+        while (!lock.hasQueuedThreads()) {
+          Thread.onSpinWait();
+        }
+        TimeUnit.MILLISECONDS.sleep(20);
+      } finally {
+        lock.unlock();
+      }
+      depositor.join();
+
+      BankMetrics.Snapshot snapshot = bank.metrics().snapshot();
+      assertEquals(1, snapshot.contendedLockAcquisitions());
+      assertTrue(snapshot.lockWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+      assertEquals(105, bank.getBalance(1));
+    }
+
+    @Test
+    @DisplayName("Should expose the counters as an MXBean")
+    void testMXBean() throws Exception {
+      Bank bank = new Bank(new long[] {10, 10});
+      bank.transfer(1, 2, 5);
+      bank.withdraw(1, 50);
+
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = bank.metrics().registerMBean("metrics-test");
+      try {
+        TabularData successes = (TabularData) server.getAttribute(name, "SuccessCounts");
+        TabularData rejects = (TabularData) server.getAttribute(name, "RejectCounts");
+        assertEquals(1L, successes.get(new Object[] {"TRANSFER"}).get("value"));
+        assertEquals(1L, rejects.get(new Object[] {"WITHDRAW"}).get("value"));
+        assertEquals(0L, server.getAttribute(name, "ContendedLockAcquisitions"));
+      } finally {
+        server.unregisterMBean(name);
+      }
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.aykacltd.cone;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pinning probe for {@link LoadGeneratorTest}: one engine in two locking flavours, identical
+ * otherwise, so a run against each compares {@code synchronized} with {@code ReentrantLock}
+ * and nothing else.
+ * <p>
+ * Every mutation holds its account lock(s) for a simulated synchronous write of
+ * {@code ioNanos} (a sleep), the way an engine that journals inside its critical section
+ * would. A virtual thread that sleeps inside {@code synchronized} cannot unmount on JDKs
+ * before 24 and is reported as a {@code jdk.VirtualThreadPinned} event; inside a
+ * {@code ReentrantLock} it unmounts and is not.
+ * <p>
+ * Per-account locks, taken in index order for transfers.
+ */
+final class BlockingSectionBank implements BankEngine {
+
+  enum Locking { SYNCHRONIZED, REENTRANT_LOCK }
+
+  private final long[] balance;
+  private final Locking locking;
+  private final long ioNanos;
+  private final Object[] monitors;
+  private final ReentrantLock[] locks;
+
+  BlockingSectionBank(long[] balance, Locking locking, long ioNanos) {
+    this.balance = balance.clone();
+    this.locking = locking;
+    this.ioNanos = ioNanos;
+    this.monitors = new Object[balance.length];
+    this.locks = new ReentrantLock[balance.length];
+    for (int i = 0; i < balance.length; i++) {
+      monitors[i] = new Object();
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  private boolean isValid(int account) {
+    return account >= 1 && account <= balance.length;
+  }
+
+  @Override
+  public boolean deposit(int account, long money) {
+    if (!isValid(account)) {
+      return false;
+    }
+    int idx = account - 1;
+    return locked(idx, idx, () -> {
+      balance[idx] += money;
+      return true;
+    });
+  }
+
+  @Override
+  public boolean withdraw(int account, long money) {
+    if (!isValid(account)) {
+      return false;
+    }
+    int idx = account - 1;
+    return locked(idx, idx, () -> {
+      if (balance[idx] < money) {
+        return false;
+      }
+      balance[idx] -= money;
+      return true;
+    });
+  }
+
+  @Override
+  public boolean transfer(int account1, int account2, long money) {
+    if (!isValid(account1) || !isValid(account2)) {
+      return false;
+    }
+    int src = account1 - 1;
+    int dst = account2 - 1;
+    return locked(Math.min(src, dst), Math.max(src, dst), () -> {
+      if (balance[src] < money) {
+        return false;
+      }
+      balance[src] -= money;
+      balance[dst] += money;
+      return true;
+    });
+  }
+
+  @Override
+  public long getBalance(int account) {
+    if (!isValid(account)) {
+      throw new IllegalArgumentException("Account not found: " + account);
+    }
+    int idx = account - 1;
+    if (locking == Locking.SYNCHRONIZED) {
+      synchronized (monitors[idx]) {
+        return balance[idx];
+      }
+    }
+    locks[idx].lock();
+    try {
+      return balance[idx];
+    } finally {
+      locks[idx].unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    return balance.length;
+  }
+
+  private interface Section {
+    boolean run();
+  }
+
+  // Run the section and, if it changed something, the simulated write, holding the locks of
+  // first and second (reads do not come through here)
+  private boolean locked(int first, int second, Section section) {
+    if (locking == Locking.SYNCHRONIZED) {
+      synchronized (monitors[first]) {
+        synchronized (monitors[second]) {
+          return section.run() && write();
+        }
+      }
+    }
+    locks[first].lock();
+    locks[second].lock();
+    try {
+      return section.run() && write();
+    } finally {
+      locks[second].unlock();
+      locks[first].unlock();
+    }
+  }
+
+  private boolean write() {
+    if (ioNanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(ioNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,119 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DedupCache Tests")
+class DedupCacheTest {
+
+  private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+  @Test
+  @DisplayName("Should claim new ids and return completed results")
+  void testClaimAndComplete() {
+    DedupCache cache = new DedupCache(64, HOUR, 4);
+    assertEquals(DedupCache.CLAIMED, cache.claim(1));
+    assertEquals(DedupCache.CLAIMED, cache.claim(2));
+    cache.complete(1, true);
+    cache.complete(2, false);
+    assertEquals(1, cache.claim(1));
+    assertEquals(0, cache.claim(2));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  @DisplayName("Should forget entries after the TTL")
+  void testTtlEviction() throws InterruptedException {
+    DedupCache cache = new DedupCache(64, TimeUnit.MILLISECONDS.toNanos(20), 1);
+    cache.claim(5);
+    cache.complete(5, true);
+    TimeUnit.MILLISECONDS.sleep(40);
+    assertEquals(DedupCache.CLAIMED, cache.claim(5));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  @DisplayName("Should reject new ids when full instead of forgetting live ones")
+  void testCapacityBound() {
+    DedupCache cache = new DedupCache(1024, HOUR, 8);
+    long id = 0;
+    try {
+      for (; ; id++) {
+        assertEquals(DedupCache.CLAIMED, cache.claim(id));
+        cache.complete(id, id % 2 == 0);
+      }
+    } catch (RejectedExecutionException full) {
+      // a shard reached its 128 entries
+    }
+    assertTrue(id >= 128 && cache.size() <= 1024);
+    for (long old = 0; old < id; old++) {
+      assertEquals(old % 2 == 0 ? 1 : 0, cache.claim(old), "id " + old);
+    }
+  }
+
+  @Test
+  @DisplayName("Should remember an id across a million newer ones inside the TTL")
+  void testRetryAfterManyIds() {
+    DedupCache cache = new DedupCache(2_000_000, HOUR, 16);
+    assertEquals(DedupCache.CLAIMED, cache.claim(-1));
+    cache.complete(-1, true);
+    for (long id = 0; id < 1_100_000; id++) {
+      cache.claim(id);
+      cache.complete(id, false);
+    }
+    assertEquals(1, cache.claim(-1));
+    assertEquals(1_100_001, cache.size());
+  }
+
+  @Test
+  @DisplayName("Should keep a pending id past its TTL and still make duplicates wait")
+  void testPendingNeverEvicted() throws InterruptedException {
+    DedupCache cache = new DedupCache(4, TimeUnit.MILLISECONDS.toNanos(200), 1);
+    assertEquals(DedupCache.CLAIMED, cache.claim(1));   // stays pending
+    for (long id = 2; id <= 4; id++) {
+      cache.claim(id);
+      cache.complete(id, true);
+    }
+    assertThrows(RejectedExecutionException.class, () -> cache.claim(5));
+    TimeUnit.MILLISECONDS.sleep(250);
+
+    assertEquals(DedupCache.CLAIMED, cache.claim(5));   // completed ids expired, pending kept
+    int[] seen = new int[1];
+    Thread duplicate = new Thread(() -> seen[0] = cache.claim(1));
+    duplicate.start();
+    TimeUnit.MILLISECONDS.sleep(20);
+    assertTrue(duplicate.isAlive());
+    cache.complete(1, false);
+    duplicate.join();
+    assertEquals(0, seen[0]);
+  }
+
+  @Test
+  @DisplayName("Should let a retry run again after the original is abandoned")
+  void testAbandon() {
+    DedupCache cache = new DedupCache(16, HOUR, 1);
+    assertEquals(DedupCache.CLAIMED, cache.claim(9));
+    cache.abandon(9);
+    assertEquals(0, cache.size());
+    assertEquals(DedupCache.CLAIMED, cache.claim(9));
+  }
+
+  @Test
+  @DisplayName("Should make a duplicate wait for the pending original")
+  void testDuplicateWaits() throws InterruptedException {
+    DedupCache cache = new DedupCache(16, HOUR, 1);
+    assertEquals(DedupCache.CLAIMED, cache.claim(3));
+    int[] seen = new int[1];
+    Thread duplicate = new Thread(() -> seen[0] = cache.claim(3));
+    duplicate.start();
+    TimeUnit.MILLISECONDS.sleep(20);
+    assertTrue(duplicate.isAlive());
+    cache.complete(3, true);
+    duplicate.join();
+    assertEquals(1, seen[0]);
+  }
+}
@@ -0,0 +1,236 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("JournaledBank Tests")
+class JournaledBankTest {
+
+  private static final long[] OPENING = {100, 200, 300};
+
+  @TempDir
+  Path dir;
+
+  @Nested
+  @DisplayName("Journal and replay")
+  class ReplayTests {
+
+    @Test
+    @DisplayName("Should journal only successful mutations")
+    void testOnlySuccessfulMutationsJournaled() throws IOException {
+      Path journal = dir.resolve("bank.journal");
+      try (JournaledBank bank = new JournaledBank(new BankClaude(OPENING),
+          new TransactionJournal(journal, 16, 100))) {
+        assertTrue(bank.deposit(1, 50));
+        assertFalse(bank.withdraw(2, 1000));
+        assertTrue(bank.transfer(3, 1, 100));
+        assertTrue(bank.transfer(2, 2, 10));  // balance check only
+        assertFalse(bank.deposit(9, 1));
+      }
+      assertEquals(2L * TransactionJournal.RECORD_SIZE, Files.size(journal));
+    }
+
+    @Test
+    @DisplayName("Should rebuild balances from the journal after restart")
+    void testRecoverAfterRestart() throws IOException {
+      Path journal = dir.resolve("bank.journal");
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, BankClaude::new, 8, 50)) {
+        bank.deposit(1, 50);
+        bank.withdraw(2, 20);
+        bank.transfer(3, 1, 100);
+      }
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, LockFreeBank::new, 8, 50)) {
+        assertEquals(250, bank.getBalance(1));
+        assertEquals(180, bank.getBalance(2));
+        assertEquals(200, bank.getBalance(3));
+        bank.transfer(1, 2, 250);
+      }
+      assertArrayEquals(new long[] {0, 430, 200}, TransactionJournal.replay(journal, OPENING));
+    }
+
+    @Test
+    @DisplayName("Should reject negative amounts so the journal stays recoverable")
+    void testNegativeAmountRejected() throws IOException {
+      Path journal = dir.resolve("bank.journal");
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, BankClaude::new, 8, 50)) {
+        assertFalse(bank.deposit(1, -50));
+        assertFalse(bank.withdraw(2, -50));
+        assertFalse(bank.transfer(3, 1, -50));
+        assertTrue(bank.deposit(1, 5));
+      }
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, BankClaude::new, 8, 50)) {
+        assertArrayEquals(new long[] {105, 200, 300}, bank.snapshot());
+      }
+    }
+
+    @Test
+    @DisplayName("Should leave balances unchanged once the journal is closed")
+    void testClosedJournalChangesNothing() throws IOException {
+      TransactionJournal journal = new TransactionJournal(dir.resolve("bank.journal"), 8, 50);
+      JournaledBank bank = new JournaledBank(new BankClaude(OPENING), journal);
+      assertTrue(bank.deposit(1, 5));
+      journal.close();
+
+      assertThrows(IllegalStateException.class, () -> bank.deposit(1, 10));
+      assertThrows(IllegalStateException.class, () -> bank.withdraw(2, 10));
+      assertThrows(IllegalStateException.class, () -> bank.transfer(3, 1, 10));
+      assertFalse(bank.withdraw(2, 1000));    // rejected before the journal is touched
+      assertArrayEquals(new long[] {105, 200, 300}, bank.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the journal")
+    void testTornTailIgnored() throws IOException {
+      Path journal = dir.resolve("bank.journal");
+      try (JournaledBank bank = new JournaledBank(new BankClaude(OPENING),
+          new TransactionJournal(journal, 1, 0))) {
+        bank.deposit(1, 5);
+      }
+      Files.write(journal, new byte[] {0, 0, 0, 1, 0, 0}, StandardOpenOption.APPEND);
+
+      assertArrayEquals(new long[] {105, 200, 300}, TransactionJournal.replay(journal, OPENING));
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn tail before appending after recovery")
+    void testTornTailTruncatedOnRecover() throws IOException {
+      Path journal = dir.resolve("bank.journal");
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, BankClaude::new, 1, 0)) {
+        bank.deposit(1, 5);
+        bank.transfer(2, 3, 50);
+      }
+      Files.write(journal, new byte[] {0, 0, 0, 1, 0, 0, 0}, StandardOpenOption.APPEND);
+
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, BankClaude::new, 1, 0)) {
+        assertEquals(105, bank.getBalance(1));
+        bank.withdraw(3, 30);
+        bank.deposit(2, 7);
+      }
+      assertEquals(4L * TransactionJournal.RECORD_SIZE, Files.size(journal));
+      assertArrayEquals(new long[] {105, 157, 320}, TransactionJournal.replay(journal, OPENING));
+    }
+
+    @Test
+    @DisplayName("Should stop replay at a sequence gap and truncate it on recovery")
+    void testSequenceGapEndsValidPart() throws IOException {
+      Path journal = dir.resolve("bank.journal");
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, BankClaude::new, 1, 0)) {
+        bank.deposit(1, 5);
+      }
+      appendRecord(journal, 3, TransactionJournal.DEPOSIT, 2, 0, 1000);   // seq 2 is missing
+
+      assertArrayEquals(new long[] {105, 200, 300}, TransactionJournal.replay(journal, OPENING));
+      try (JournaledBank bank = JournaledBank.recover(journal, OPENING, BankClaude::new, 1, 0)) {
+        bank.deposit(3, 1);
+      }
+      assertArrayEquals(new long[] {105, 200, 301}, TransactionJournal.replay(journal, OPENING));
+    }
+
+    @Test
+    @DisplayName("Should reject records with unknown accounts or overdrafts")
+    void testCorruptRecordRejected() throws IOException {
+      Path unknownAccount = dir.resolve("unknown.journal");
+      appendRecord(unknownAccount, 1, TransactionJournal.TRANSFER, 1, 99, 10);
+      assertThrows(IOException.class, () -> TransactionJournal.replay(unknownAccount, OPENING));
+
+      Path negativeAccount = dir.resolve("negative.journal");
+      appendRecord(negativeAccount, 1, TransactionJournal.DEPOSIT, -4, 0, 10);
+      assertThrows(IOException.class, () -> TransactionJournal.replay(negativeAccount, OPENING));
+
+      Path overdraft = dir.resolve("overdraft.journal");
+      appendRecord(overdraft, 1, TransactionJournal.WITHDRAW, 1, 0, 101);
+      assertThrows(IOException.class, () -> TransactionJournal.replay(overdraft, OPENING));
+    }
+
+    @Test
+    @DisplayName("Should journal a withdraw only after the deposit that funded it")
+    void testDependentOperationsJournaledInOrder() throws Exception {
+      Path journal = dir.resolve("bank.journal");
+      long[] empty = new long[4];
+      try (JournaledBank bank = new JournaledBank(new BankClaude(empty),
+          new TransactionJournal(journal, 64, 100))) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+          for (int t = 0; t < 8; t++) {
+            final int threadId = t;
+            executor.submit(() -> {
+              for (int i = 0; i < 500; i++) {
+                int account = (threadId + i) % 4 + 1;
+                if (threadId % 2 == 0) {
+                  bank.deposit(account, 1);
+                } else if (!bank.withdraw(account, 1)) {
+                  bank.transfer(account % 4 + 1, account, 1);
+                }
+              }
+            });
+          }
+        }
+      }
+      // Replay runs in file order and rejects any overdraft, so this checks every prefix
+      assertDoesNotThrow(() -> TransactionJournal.replay(journal, empty));
+    }
+
+    @Test
+    @DisplayName("Should replay concurrent operations to the same final balances")
+    void testConcurrentReplayMatchesEngine() throws Exception {
+      Path journal = dir.resolve("bank.journal");
+      long[] expected = new long[OPENING.length];
+      int threads = 8;
+
+      try (JournaledBank bank = new JournaledBank(new BankClaude(OPENING),
+          new TransactionJournal(journal, 64, 200))) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+          CountDownLatch latch = new CountDownLatch(threads);
+          for (int t = 0; t < threads; t++) {
+            final int threadId = t;
+            executor.submit(() -> {
+              try {
+                for (int i = 0; i < 200; i++) {
+                  int account = (threadId + i) % 3 + 1;
+                  switch (i % 3) {
+                    case 0:
+                      bank.deposit(account, 3);
+                      break;
+                    case 1:
+                      bank.withdraw(account, 5);
+                      break;
+                    case 2:
+                      bank.transfer(account, account % 3 + 1, 7);
+                      break;
+                  }
+                }
+              } finally {
+                latch.countDown();
+              }
+            });
+          }
+          assertTrue(latch.await(30, TimeUnit.SECONDS));
+        }
+        for (int i = 0; i < expected.length; i++) {
+          expected[i] = bank.getBalance(i + 1);
+        }
+      }
+
+      assertArrayEquals(expected, TransactionJournal.replay(journal, OPENING));
+    }
+  }
+
+  private static void appendRecord(Path journal, long seq, int type, int account1, int account2,
+                                   long money) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(TransactionJournal.RECORD_SIZE)
+        .putLong(seq).putInt(type).putInt(account1).putInt(account2).putInt(0).putLong(money);
+    Files.write(journal, record.array(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+}
@@ -0,0 +1,204 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.aykacltd.cone.RecordingBank.Operation;
+import com.aykacltd.cone.RecordingBank.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LinearizabilityChecker Tests")
+class LinearizabilityCheckerTest {
+
+  private static Operation op(Type type, int a1, int a2, long money, long result, long invoked,
+                              long returned) {
+    return new Operation(type, a1, a2, money, result, invoked, returned);
+  }
+
+  @Nested
+  @DisplayName("Hand-written histories")
+  class HandWrittenHistories {
+
+    @Test
+    @DisplayName("Should accept a sequential history that matches the model")
+    void testSequentialHistory() {
+      List<Operation> history = List.of(
+          op(Type.WITHDRAW, 3, 0, 10, 1, 1, 2),
+          op(Type.TRANSFER, 5, 1, 20, 1, 3, 4),
+          op(Type.DEPOSIT, 5, 0, 20, 1, 5, 6),
+          op(Type.TRANSFER, 3, 4, 15, 0, 7, 8),
+          op(Type.WITHDRAW, 10, 0, 50, 0, 9, 10),
+          op(Type.BALANCE, 6, 0, 0, RecordingBank.NOT_FOUND, 11, 12));
+      long[] opening = {10, 100, 20, 50, 30};
+
+      Optional<List<Operation>> order = LinearizabilityChecker.linearize(opening, history);
+
+      assertTrue(order.isPresent());
+      assertNull(RecordingBank.replay(order.get(), new BankClaude(opening)));
+    }
+
+    @Test
+    @DisplayName("Should reject a stale read after a completed deposit")
+    void testStaleRead() {
+      List<Operation> history = List.of(
+          op(Type.DEPOSIT, 1, 0, 5, 1, 1, 2),
+          op(Type.BALANCE, 1, 0, 0, 10, 3, 4));
+      assertFalse(LinearizabilityChecker.isLinearizable(new long[] {10}, history));
+    }
+
+    @Test
+    @DisplayName("Should accept either order for overlapping operations")
+    void testOverlappingOperations() {
+      List<Operation> history = List.of(
+          op(Type.DEPOSIT, 1, 0, 5, 1, 1, 4),
+          op(Type.BALANCE, 1, 0, 0, 10, 2, 3),
+          op(Type.BALANCE, 1, 0, 0, 15, 5, 6));
+      assertTrue(LinearizabilityChecker.isLinearizable(new long[] {10}, history));
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer observed half-applied by one reader")
+    void testTornTransfer() {
+      // The reader sees the debit, then misses the credit: money vanished mid-transfer
+      List<Operation> history = List.of(
+          op(Type.TRANSFER, 1, 2, 10, 1, 1, 10),
+          op(Type.BALANCE, 1, 0, 0, 0, 2, 3),
+          op(Type.BALANCE, 2, 0, 0, 0, 4, 5));
+      assertFalse(LinearizabilityChecker.isLinearizable(new long[] {10, 0}, history));
+    }
+
+    @Test
+    @DisplayName("Should reject a withdrawal that overdrew the account")
+    void testOverdraft() {
+      List<Operation> history = List.of(
+          op(Type.WITHDRAW, 1, 0, 8, 1, 1, 3),
+          op(Type.WITHDRAW, 1, 0, 8, 1, 2, 4));
+      assertFalse(LinearizabilityChecker.isLinearizable(new long[] {10}, history));
+    }
+
+    @Test
+    @DisplayName("Should let an operation that threw take effect or not")
+    void testAmbiguousOperation() {
+      Operation failed = op(Type.DEPOSIT, 1, 0, 5, RecordingBank.UNKNOWN, 1, 2);
+      for (long seen : new long[] {10, 15}) {
+        Optional<List<Operation>> order = LinearizabilityChecker.linearize(new long[] {10},
+            List.of(failed, op(Type.BALANCE, 1, 0, 0, seen, 3, 4)));
+        assertTrue(order.isPresent(), "balance " + seen);
+        assertEquals(seen == 15 ? 2 : 1, order.get().size());
+      }
+      assertFalse(LinearizabilityChecker.isLinearizable(new long[] {10},
+          List.of(failed, op(Type.BALANCE, 1, 0, 0, 12, 3, 4))));
+      assertTrue(LinearizabilityChecker.isLinearizable(new long[] {10}, List.of(failed)));
+    }
+
+    @Test
+    @DisplayName("Should check a history far deeper than the thread stack allows recursion")
+    void testLongHistory() {
+      int n = 20_000;
+      Operation[] history = new Operation[n + 1];
+      for (int i = 0; i < n; i++) {
+        history[i] = op(Type.DEPOSIT, 1, 0, 1, 1, 2L * i + 1, 2L * i + 2);
+      }
+      history[n] = op(Type.BALANCE, 1, 0, 0, n, 2L * n + 1, 2L * n + 2);
+
+      Optional<List<Operation>> order =
+          LinearizabilityChecker.linearize(new long[] {0}, List.of(history));
+
+      assertTrue(order.isPresent());
+      assertEquals(n + 1, order.get().size());
+    }
+  }
+
+  @Nested
+  @DisplayName("Recorded histories")
+  class RecordedHistories {
+
+    @Test
+    @DisplayName("Should find BankClaude histories linearizable and replay them")
+    void testRecordedBankClaudeHistory() throws InterruptedException {
+      long[] opening = {30, 30, 30};
+      RecordingBank bank = new RecordingBank(new BankClaude(opening));
+      int threads = 4;
+      int opsPerThread = 40;
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      CountDownLatch latch = new CountDownLatch(threads);
+
+      for (int t = 0; t < threads; t++) {
+        executor.submit(() -> {
+          try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < opsPerThread; i++) {
+              int a = random.nextInt(3) + 1;
+              int b = random.nextInt(3) + 1;
+              long money = random.nextInt(1, 20);
+              switch (random.nextInt(4)) {
+                case 0 -> bank.deposit(a, money);
+                case 1 -> bank.withdraw(a, money);
+                case 2 -> bank.transfer(a, b, money);
+                default -> bank.getBalance(a);
+              }
+            }
+          } finally {
+            latch.countDown();
+          }
+        });
+      }
+      latch.await();
+      executor.shutdown();
+
+      List<Operation> history = bank.history();
+      assertEquals(threads * opsPerThread, history.size());
+      Optional<List<Operation>> order = LinearizabilityChecker.linearize(opening, history);
+      assertTrue(order.isPresent(), () -> "not linearizable: " + history);
+      assertNull(RecordingBank.replay(order.get(), new BankClaude(opening)));
+    }
+
+    @Test
+    @DisplayName("Should record a call that threw as an ambiguous operation")
+    void testThrowingEngineIsRecorded() {
+      BankClaude engine = new BankClaude(new long[] {10});
+      RecordingBank bank = new RecordingBank(new BankEngine() {
+        @Override
+        public boolean deposit(int account, long money) {
+          engine.deposit(account, money);
+          throw new IllegalStateException("acknowledgement lost");
+        }
+
+        @Override
+        public boolean withdraw(int account, long money) {
+          return engine.withdraw(account, money);
+        }
+
+        @Override
+        public boolean transfer(int account1, int account2, long money) {
+          return engine.transfer(account1, account2, money);
+        }
+
+        @Override
+        public long getBalance(int account) {
+          return engine.getBalance(account);
+        }
+
+        @Override
+        public int size() {
+          return engine.size();
+        }
+      });
+
+      assertThrows(IllegalStateException.class, () -> bank.deposit(1, 5));
+      assertEquals(15, bank.getBalance(1));
+
+      List<Operation> history = bank.history();
+      assertEquals(2, history.size());
+      assertTrue(history.get(0).ambiguous());
+      assertTrue(LinearizabilityChecker.isLinearizable(new long[] {10}, history));
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LoadGenerator Tests")
+class LoadGeneratorTest {
+
+  @Nested
+  @DisplayName("LatencyHistogram")
+  class HistogramTests {
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket resolution")
+    void testPercentiles() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      for (long v = 1; v <= 100_000; v++) {
+        histogram.record(v * 1_000);       // 1 µs .. 100 ms, evenly spread
+      }
+      assertEquals(100_000, histogram.count());
+      assertWithin(50_000_000, histogram.percentile(50));
+      assertWithin(99_000_000, histogram.percentile(99));
+      assertWithin(99_900_000, histogram.percentile(99.9));
+    }
+
+    @Test
+    @DisplayName("Should map every value into a bucket whose upper bound covers it")
+    void testBucketBounds() {
+      long[] values = {0, 1, 31, 32, 33, 63, 64, 1_000, 123_456_789, Long.MAX_VALUE};
+      for (long value : values) {
+        int index = LatencyHistogram.indexOf(value);
+        assertTrue(LatencyHistogram.highestValueIn(index) >= value, "value " + value);
+        if (index > 0) {
+          assertTrue(LatencyHistogram.highestValueIn(index - 1) < value, "value " + value);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("Should merge and reset counts")
+    void testAddAndReset() {
+      LatencyHistogram a = new LatencyHistogram();
+      LatencyHistogram b = new LatencyHistogram();
+      a.record(10);
+      b.record(20);
+      b.record(-5);                          // clock skew is clamped to 0
+      a.add(b);
+      assertEquals(3, a.count());
+      a.reset();
+      assertEquals(0, a.count());
+      assertEquals(0, a.percentile(99));
+    }
+
+    private void assertWithin(long expected, long actual) {
+      assertTrue(Math.abs(actual - expected) <= expected / 16,
+          "expected ~" + expected + " but was " + actual);
+    }
+  }
+
+  @Nested
+  @DisplayName("Virtual-thread load")
+  class LoadTests {
+
+    @Test
+    @DisplayName("Should drive thousands of virtual-thread clients and conserve money")
+    void testTransferOnlyLoadConservesMoney() throws InterruptedException {
+      long[] balances = new long[64];
+      Arrays.fill(balances, 1_000);
+      BankClaude bank = new BankClaude(balances);
+      LoadGenerator.Config config = new LoadGenerator.Config(5_000, Duration.ofMillis(300),
+          0, 0, 100, 0.99, Duration.ofMillis(1), Duration.ofMillis(20));
+
+      LoadGenerator.Report report = LoadGenerator.run(bank, config);
+
+      assertTrue(report.ops() >= config.clients(), "every client ran at least once");
+      assertEquals(report.ops(), report.latencies().get(LoadGenerator.Op.TRANSFER).count());
+      assertEquals(0, report.latencies().get(LoadGenerator.Op.DEPOSIT).count());
+      assertTrue(report.opsPerSecond() > 0);
+      assertEquals(64 * 1_000L, Arrays.stream(bank.snapshot()).sum());
+    }
+
+    @Test
+    @DisplayName("Should see pinning under synchronized but not under ReentrantLock")
+    void testPinningComparison() throws InterruptedException {
+      LoadGenerator.Config config = new LoadGenerator.Config(200, Duration.ofMillis(300),
+          50, 0, 50, 0, Duration.ZERO, Duration.ZERO);
+      long io = Duration.ofMillis(1).toNanos();
+
+      LoadGenerator.Report monitors = LoadGenerator.run(new BlockingSectionBank(
+          balances(8), BlockingSectionBank.Locking.SYNCHRONIZED, io), config);
+      LoadGenerator.Report locks = LoadGenerator.run(new BlockingSectionBank(
+          balances(8), BlockingSectionBank.Locking.REENTRANT_LOCK, io), config);
+
+      if (Runtime.version().feature() < 24) {
+        assertTrue(monitors.pinnedEvents() > 0, "synchronized pins a sleeping virtual thread");
+      } else {
+        assertEquals(0, monitors.pinnedEvents(), "JEP 491: synchronized no longer pins");
+      }
+      assertEquals(0, locks.pinnedEvents());
+    }
+
+    private long[] balances(int n) {
+      long[] balances = new long[n];
+      Arrays.fill(balances, 1_000);
+      return balances;
+    }
+
+    @Test
+    @DisplayName("Should reject an op mix above 100%")
+    void testInvalidMix() {
+      assertThrows(IllegalArgumentException.class, () -> new LoadGenerator.Config(1,
+          Duration.ofMillis(1), 50, 50, 1, 0, Duration.ZERO, Duration.ZERO));
+    }
+  }
+}
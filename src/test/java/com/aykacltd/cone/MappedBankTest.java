@@ -0,0 +1,71 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("MappedBank Tests")
+class MappedBankTest {
+
+  @TempDir
+  Path dir;
+
+  @Nested
+  @DisplayName("Persistence")
+  class PersistenceTests {
+
+    @Test
+    @DisplayName("Should keep balances across close and reopen")
+    void testReopenKeepsBalances() throws IOException {
+      Path ledger = dir.resolve("ledger.bin");
+      try (MappedBank bank = MappedBank.create(ledger, new long[] {100, 200, 300})) {
+        assertTrue(bank.transfer(1, 2, 50));
+        assertTrue(bank.deposit(3, 5));
+        assertFalse(bank.withdraw(1, 51));
+      }
+
+      assertEquals(3L * Long.BYTES, Files.size(ledger));
+      try (MappedBank bank = MappedBank.open(ledger)) {
+        assertEquals(3, bank.size());
+        assertEquals(50, bank.getBalance(1));
+        assertEquals(250, bank.getBalance(2));
+        assertEquals(305, bank.getBalance(3));
+      }
+    }
+
+    @Test
+    @DisplayName("Should overwrite an existing ledger on create")
+    void testCreateOverwrites() throws IOException {
+      Path ledger = dir.resolve("ledger.bin");
+      MappedBank.create(ledger, new long[] {1, 2, 3, 4}).close();
+      try (MappedBank bank = MappedBank.create(ledger, new long[] {9})) {
+        assertEquals(1, bank.size());
+        assertEquals(9, bank.getBalance(1));
+      }
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not a whole number of balances")
+    void testRejectsCorruptFile() throws IOException {
+      Path ledger = dir.resolve("broken.bin");
+      Files.write(ledger, new byte[] {1, 2, 3});
+      assertThrows(IOException.class, () -> MappedBank.open(ledger));
+    }
+
+    @Test
+    @DisplayName("Should reject operations on non-existent accounts")
+    void testInvalidAccounts() throws IOException {
+      try (MappedBank bank = MappedBank.create(dir.resolve("ledger.bin"), new long[] {10})) {
+        assertFalse(bank.deposit(2, 1));
+        assertFalse(bank.transfer(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> bank.getBalance(2));
+      }
+    }
+  }
+}
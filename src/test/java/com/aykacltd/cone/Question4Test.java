@@ -0,0 +1,159 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Question4.Bank Tests")
+class Question4Test {
+
+  @Nested
+  @DisplayName("Named account API")
+  class NamedAccountTests {
+
+    @Test
+    @DisplayName("Should keep exact cent amounts")
+    void testCents() {
+      Question4.Bank bank = new Question4.Bank("Test");
+      String id = bank.createAccount("Alice", 10).getId();
+      bank.deposit(id, 20);
+      assertEquals(30, bank.checkBalance(id));
+      assertEquals("0.30", Question4.formatCents(bank.checkBalance(id)));
+      assertEquals("-12.05", Question4.formatCents(-1205));
+    }
+
+    @Test
+    @DisplayName("Should give every account a distinct 8-character id")
+    void testIds() {
+      Question4.Bank bank = new Question4.Bank("Test");
+      Set<String> ids = new HashSet<>();
+      for (int i = 0; i < 10_000; i++) {
+        String id = bank.createAccount("Owner" + i, 0).getId();
+        assertEquals(8, id.length());
+        assertTrue(ids.add(id));
+      }
+    }
+
+    @Test
+    @DisplayName("Should reject bad amounts, unknown ids and overdrafts")
+    void testErrors() {
+      Question4.Bank bank = new Question4.Bank("Test");
+      String alice = bank.createAccount("Alice", 100).getId();
+      String bob = bank.createAccount("Bob", 0).getId();
+      assertThrows(IllegalArgumentException.class, () -> bank.createAccount("Eve", -1));
+      assertThrows(IllegalArgumentException.class, () -> bank.deposit(alice, 0));
+      assertThrows(IllegalArgumentException.class, () -> bank.withdraw("NOPE", 1));
+      assertThrows(IllegalStateException.class, () -> bank.withdraw(bob, 1));
+      assertThrows(IllegalStateException.class, () -> bank.transfer(alice, bob, 101));
+      bank.transfer(alice, bob, 100);
+      assertEquals(0, bank.checkBalance(alice));
+      assertEquals(100, bank.checkBalance(bob));
+    }
+  }
+
+  @Nested
+  @DisplayName("Concurrency")
+  class ConcurrencyTests {
+
+    @Test
+    @DisplayName("Should create accounts from many threads without lost or duplicate ids")
+    void testConcurrentCreation() {
+      Question4.Bank bank = new Question4.Bank("Test");
+      Set<String> ids = ConcurrentHashMap.newKeySet();
+      try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+        for (int t = 0; t < 8; t++) {
+          pool.submit(() -> {
+            for (int i = 0; i < 1000; i++) {
+              ids.add(bank.createAccount("Owner", 1).getId());
+            }
+          });
+        }
+      }
+      assertEquals(8000, ids.size());
+      assertEquals(8000, bank.size());
+      for (long balance : bank.snapshot()) {
+        assertEquals(1, balance);              // every published slot holds its account
+      }
+    }
+
+    @Test
+    @DisplayName("Should conserve money under concurrent opposite transfers")
+    void testConcurrentTransfers() {
+      Question4.Bank bank = new Question4.Bank("Test");
+      List<String> ids = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        ids.add(bank.createAccount("Owner" + i, 10_000).getId());
+      }
+      try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int c = 0; c < 1000; c++) {
+          pool.submit(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 100; i++) {
+              try {
+                bank.transfer(ids.get(random.nextInt(8)), ids.get(random.nextInt(8)), 7);
+              } catch (IllegalStateException insufficient) {
+                // expected now and then
+              }
+            }
+          });
+        }
+      }
+      long total = 0;
+      for (long balance : bank.snapshot()) {
+        assertTrue(balance >= 0);
+        total += balance;
+      }
+      assertEquals(80_000, total);
+    }
+  }
+
+  @Nested
+  @DisplayName("Audit log")
+  class AuditLogTests {
+
+    @Test
+    @DisplayName("Should write every entry in order before close returns")
+    void testAsyncAuditLog() {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      String id;
+      try (Question4.AsyncAuditLog log = new Question4.AsyncAuditLog(
+          new PrintStream(bytes, true, StandardCharsets.UTF_8), 4)) {
+        Question4.Bank bank = new Question4.Bank("Audit", log);
+        id = bank.createAccount("Alice", 0).getId();
+        for (int i = 0; i < 100; i++) {
+          bank.deposit(id, 100);
+        }
+      }
+      String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\\R");
+      assertEquals(101, lines.length);
+      assertEquals("[Audit] Account created: " + id + ", balance 0.00", lines[0]);
+      assertEquals("[Audit] Deposited 1.00 to " + id + ". New balance: 100.00", lines[100]);
+    }
+
+    @Test
+    @DisplayName("Should not call the log when auditing is off")
+    void testNoAudit() {
+      List<Question4.Entry> entries = new ArrayList<>();
+      Question4.Bank audited = new Question4.Bank("On", entries::add);
+      Question4.Bank quiet = new Question4.Bank("Off");
+      audited.deposit(audited.createAccount("A", 0).getNumber(), 5);
+      quiet.deposit(quiet.createAccount("A", 0).getNumber(), 5);
+      assertEquals(2, entries.size());
+      assertEquals(Question4.Event.DEPOSIT, entries.get(1).event());
+      assertEquals(5, quiet.getBalance(1));
+    }
+  }
+}
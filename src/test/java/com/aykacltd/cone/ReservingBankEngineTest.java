@@ -0,0 +1,264 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Hold (reserve / capture / release) semantics shared by every {@link ReservingBankEngine}.
+ */
+@DisplayName("ReservingBankEngine – Holds")
+class ReservingBankEngineTest {
+
+  static Stream<Named<Function<long[], ReservingBankEngine>>> engines() {
+    return Stream.of(
+        Named.of("BankClaude", BankClaude::new),
+        Named.of("BankClaude(stripes=2)", balances -> new BankClaude(balances, 2)),
+        Named.of("LockFreeBank", LockFreeBank::new)
+    );
+  }
+
+  @Nested
+  @DisplayName("Semantics")
+  class Semantics {
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Reserve moves money from available to held")
+    void reserve(Function<long[], ReservingBankEngine> factory) {
+      ReservingBankEngine bank = factory.apply(new long[] {100, 50});
+      long hold = bank.reserve(1, 30);
+      assertNotEquals(ReservingBankEngine.NO_HOLD, hold);
+      assertEquals(70, bank.getBalance(1));
+      assertEquals(30, bank.getHeld(1));
+      assertFalse(bank.withdraw(1, 71), "held funds are not available");
+      assertEquals(ReservingBankEngine.NO_HOLD, bank.reserve(1, 71));
+      assertEquals(ReservingBankEngine.NO_HOLD, bank.reserve(3, 1));
+      assertEquals(ReservingBankEngine.NO_HOLD, bank.reserve(1, -1));
+      assertThrows(IllegalArgumentException.class, () -> bank.getHeld(0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Partial capture returns the rest of the hold")
+    void capture(Function<long[], ReservingBankEngine> factory) {
+      ReservingBankEngine bank = factory.apply(new long[] {100});
+      long hold = bank.reserve(1, 30);
+      assertFalse(bank.capture(hold, 31), "more than reserved");
+      assertTrue(bank.capture(hold, 20));
+      assertEquals(80, bank.getBalance(1));
+      assertEquals(0, bank.getHeld(1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("A hold settles exactly once")
+    void settleOnce(Function<long[], ReservingBankEngine> factory) {
+      ReservingBankEngine bank = factory.apply(new long[] {100});
+      long hold = bank.reserve(1, 40);
+      assertTrue(bank.release(hold));
+      assertFalse(bank.release(hold));
+      assertFalse(bank.capture(hold, 40));
+      assertEquals(100, bank.getBalance(1));
+      assertEquals(0, bank.getHeld(1));
+
+      long next = bank.reserve(1, 10);       // may reuse the slot, never the id
+      assertNotEquals(hold, next);
+      assertFalse(bank.release(hold));
+      assertEquals(10, bank.getHeld(1));
+      assertFalse(bank.release(ReservingBankEngine.NO_HOLD));
+      assertFalse(bank.release(Long.MAX_VALUE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Debits may overdraw down to the credit limit")
+    void creditLimit(Function<long[], ReservingBankEngine> factory) {
+      ReservingBankEngine bank = factory.apply(new long[] {100, 0});
+      assertEquals(0, bank.getCreditLimit(1));
+      assertFalse(bank.withdraw(1, 101), "no overdraft by default");
+
+      assertTrue(bank.setCreditLimit(1, 50));
+      assertEquals(50, bank.getCreditLimit(1));
+      assertTrue(bank.withdraw(1, 120));
+      assertEquals(-20, bank.getBalance(1));
+      assertFalse(bank.transfer(1, 2, 31));
+      assertTrue(bank.transfer(1, 1, 30), "self-transfer checks the same floor");
+      assertFalse(bank.transfer(1, 1, 31));
+      long hold = bank.reserve(1, 30);
+      assertNotEquals(ReservingBankEngine.NO_HOLD, hold);
+      assertEquals(-50, bank.getBalance(1));
+      assertEquals(ReservingBankEngine.NO_HOLD, bank.reserve(1, 1));
+
+      assertFalse(bank.setCreditLimit(1, 49), "would leave the account past its limit");
+      assertTrue(bank.release(hold));
+      assertTrue(bank.setCreditLimit(1, 20));
+      assertFalse(bank.withdraw(1, 1));
+      assertTrue(bank.deposit(1, 20));
+      assertTrue(bank.setCreditLimit(1, 0));
+      assertEquals(0, bank.getBalance(1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Credit limit validation and overflow")
+    void creditLimitValidation(Function<long[], ReservingBankEngine> factory) {
+      ReservingBankEngine bank = factory.apply(new long[] {-5, 10});
+      assertFalse(bank.setCreditLimit(3, 10));
+      assertFalse(bank.setCreditLimit(1, -1));
+      assertFalse(bank.setCreditLimit(1, 4));
+      assertThrows(IllegalArgumentException.class, () -> bank.getCreditLimit(0));
+
+      assertTrue(bank.setCreditLimit(2, Long.MAX_VALUE));
+      assertTrue(bank.withdraw(2, Long.MAX_VALUE));
+      assertEquals(10 - Long.MAX_VALUE, bank.getBalance(2));
+      assertFalse(bank.withdraw(2, Long.MAX_VALUE), "deficit wraps past Long.MAX_VALUE");
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Keeps thousands of holds open at once")
+    void manyOpenHolds(Function<long[], ReservingBankEngine> factory) {
+      ReservingBankEngine bank = factory.apply(new long[] {10_000, 10_000});
+      long[] holds = new long[5000];
+      Set<Long> ids = new HashSet<>();
+      for (int i = 0; i < holds.length; i++) {
+        holds[i] = bank.reserve(i % 2 + 1, 2);
+        assertTrue(ids.add(holds[i]));
+      }
+      assertEquals(5000, bank.getHeld(1));
+      for (int i = 0; i < holds.length; i += 2) {
+        assertTrue(bank.capture(holds[i], 2));
+      }
+      for (int i = 1; i < holds.length; i += 2) {
+        assertTrue(bank.release(holds[i]));
+      }
+      assertEquals(5000, bank.getBalance(1));
+      assertEquals(10_000, bank.getBalance(2));
+      assertEquals(0, bank.getHeld(1) + bank.getHeld(2));
+    }
+  }
+
+  @Nested
+  @DisplayName("Concurrency")
+  class Concurrency {
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Racing capture and release: exactly one wins")
+    void racingSettle(Function<long[], ReservingBankEngine> factory) throws Exception {
+      ReservingBankEngine bank = factory.apply(new long[] {1_000_000});
+      AtomicInteger wins = new AtomicInteger();
+      int holds = 2000;
+      try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+        for (int i = 0; i < holds; i++) {
+          long hold = bank.reserve(1, 10);
+          CountDownLatch start = new CountDownLatch(1);
+          pool.submit(() -> {
+            start.await();
+            return bank.capture(hold, 10) && wins.incrementAndGet() > 0;
+          });
+          pool.submit(() -> {
+            start.await();
+            return bank.release(hold) && wins.incrementAndGet() > 0;
+          });
+          start.countDown();
+        }
+      }
+      assertEquals(holds, wins.get());
+      assertEquals(0, bank.getHeld(1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Money is conserved across reserve, capture, release and withdraw")
+    void conservation(Function<long[], ReservingBankEngine> factory) throws Exception {
+      int accounts = 8;
+      long[] opening = new long[accounts];
+      Arrays.fill(opening, 10_000);
+      ReservingBankEngine bank = factory.apply(opening);
+      LongAdder leftBank = new LongAdder();
+      List<Future<?>> workers = new ArrayList<>();
+      try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+        for (int t = 0; t < 8; t++) {
+          workers.add(pool.submit(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+              int account = random.nextInt(accounts) + 1;
+              long hold = bank.reserve(account, 5);
+              if (bank.withdraw(random.nextInt(accounts) + 1, 1)) {
+                leftBank.add(1);
+              }
+              bank.deposit(random.nextInt(accounts) + 1, 1);
+              leftBank.add(-1);
+              if (hold == ReservingBankEngine.NO_HOLD) {
+                continue;
+              }
+              if (random.nextBoolean()) {
+                assertTrue(bank.capture(hold, 3));
+                leftBank.add(3);
+              } else {
+                assertTrue(bank.release(hold));
+              }
+            }
+          }));
+        }
+      }
+      for (Future<?> worker : workers) {
+        worker.get();                        // rethrows a failed assertion
+      }
+      long total = leftBank.sum();
+      for (int i = 1; i <= accounts; i++) {
+        assertTrue(bank.getBalance(i) >= 0);
+        assertEquals(0, bank.getHeld(i));
+        total += bank.getBalance(i);
+      }
+      assertEquals(10_000L * accounts, total);
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.aykacltd.cone.ReservingBankEngineTest#engines")
+    @DisplayName("Racing debits never pass the credit limit")
+    void racingOverdraft(Function<long[], ReservingBankEngine> factory) throws Exception {
+      ReservingBankEngine bank = factory.apply(new long[] {0, 0});
+      bank.setCreditLimit(1, 1000);
+      AtomicInteger wins = new AtomicInteger();
+      try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+        for (int t = 0; t < 8; t++) {
+          boolean withHolds = t % 2 == 0;
+          pool.submit(() -> {
+            for (int i = 0; i < 500; i++) {
+              boolean won = withHolds
+                  ? bank.reserve(1, 1) != ReservingBankEngine.NO_HOLD
+                  : bank.transfer(1, 2, 1);
+              if (won) {
+                wins.incrementAndGet();
+              }
+            }
+          });
+        }
+      }
+      assertEquals(1000, wins.get());
+      assertEquals(-1000, bank.getBalance(1));
+      assertEquals(1000, bank.getBalance(2) + bank.getHeld(1));
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.aykacltd.cone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShardedBank Tests")
+class ShardedBankTest {
+
+  @Nested
+  @DisplayName("Async API")
+  class AsyncTests {
+
+    @Test
+    @DisplayName("Should complete futures with the same results as the blocking API")
+    void testAsyncResults() throws InterruptedException {
+      try (ShardedBank bank = new ShardedBank(new long[] {100, 0, 50, 10}, 2)) {
+        assertTrue(bank.transferAsync(1, 2, 60).join());    // cross-shard
+        assertTrue(bank.transferAsync(1, 3, 40).join());    // same shard
+        assertFalse(bank.transferAsync(1, 4, 1).join());    // source now empty
+        assertFalse(bank.withdrawAsync(4, 11).join());
+        assertTrue(bank.depositAsync(4, 5).join());
+        assertFalse(bank.depositAsync(5, 1).join());
+
+        assertEquals(0L, bank.balanceAsync(1).join());
+        assertEquals(60L, bank.balanceAsync(2).join());
+        assertEquals(90L, bank.balanceAsync(3).join());
+        assertEquals(15L, bank.balanceAsync(4).join());
+      }
+    }
+
+    @Test
+    @DisplayName("Should conserve money with many pipelined cross-shard transfers")
+    void testPipelinedTransfersConserveMoney() throws InterruptedException {
+      int accounts = 64;
+      long[] balances = new long[accounts];
+      Arrays.fill(balances, 1_000);
+      try (ShardedBank bank = new ShardedBank(balances, 4)) {
+        List<CompletableFuture<Boolean>> inFlight = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+          inFlight.add(bank.transferAsync(i % accounts + 1, (i * 7 + 3) % accounts + 1, 7));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).join();
+
+        long total = 0;
+        for (long balance : bank.snapshot()) {
+          assertTrue(balance >= 0);
+          total += balance;
+        }
+        assertEquals(accounts * 1_000L, total);
+      }
+    }
+
+    @Test
+    @DisplayName("Should fail only the command that throws and keep the shard running")
+    void testFailingCommandDoesNotKillShard() throws InterruptedException {
+      try (ShardedBank bank = new ShardedBank(new long[] {10, 20}, 2)) {
+        CompletableFuture<Void> failed = bank.runOnShard(0, () -> {
+          throw new IllegalStateException("boom");
+        });
+        CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+
+        assertTrue(bank.depositAsync(1, 5).join());
+        assertTrue(bank.transferAsync(1, 2, 15).join());
+        assertEquals(0L, bank.balanceAsync(1).join());
+        assertEquals(35L, bank.balanceAsync(2).join());
+      }
+    }
+
+    @Test
+    @DisplayName("Should conserve money when closed while transfers are running")
+    void testCloseDuringTransfersConservesMoney() throws Exception {
+      int accounts = 32;
+      long[] balances = new long[accounts];
+      Arrays.fill(balances, 1_000);
+      ShardedBank bank = new ShardedBank(balances, 4);
+      Queue<CompletableFuture<Boolean>> accepted = new ConcurrentLinkedQueue<>();
+      CountDownLatch started = new CountDownLatch(4);
+      List<Thread> producers = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final int threadId = t;
+        producers.add(Thread.ofPlatform().start(() -> {
+          started.countDown();
+          try {
+            for (int i = 0; ; i++) {
+              int from = (i + threadId) % accounts + 1;
+              accepted.add(bank.transferAsync(from, (from * 7 + threadId) % accounts + 1, 3));
+            }
+          } catch (RejectedExecutionException closed) {
+            // intake stopped
+          }
+        }));
+      }
+      started.await();
+      Thread.sleep(50);
+      bank.close();
+      for (Thread producer : producers) {
+        producer.join();
+      }
+
+      CompletableFuture.allOf(accepted.toArray(new CompletableFuture<?>[0]))
+          .get(10, TimeUnit.SECONDS);
+      long total = 0;
+      for (long balance : bank.snapshot()) {
+        assertTrue(balance >= 0);
+        total += balance;
+      }
+      assertEquals(accounts * 1_000L, total);
+    }
+
+    @Test
+    @DisplayName("Should reject commands after close")
+    void testRejectsAfterClose() {
+      ShardedBank bank = new ShardedBank(new long[] {10, 20}, 2);
+      bank.close();
+      assertThrows(RejectedExecutionException.class, () -> bank.depositAsync(1, 1));
+    }
+
+    @Test
+    @DisplayName("Should finish closing when interrupted and keep the interrupt")
+    void testCloseWhileInterrupted() {
+      ShardedBank bank = new ShardedBank(new long[] {10, 20}, 2);
+      bank.transferAsync(1, 2, 5);
+      Thread.currentThread().interrupt();
+      try {
+        bank.close();
+        assertTrue(Thread.currentThread().isInterrupted());
+      } finally {
+        Thread.interrupted();
+      }
+      assertArrayEquals(new long[] {5, 25}, bank.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive shard count")
+    void testInvalidShardCount() {
+      assertThrows(IllegalArgumentException.class, () -> new ShardedBank(new long[] {1}, 0));
+    }
+  }
+}
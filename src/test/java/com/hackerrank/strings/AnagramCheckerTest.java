@@ -136,5 +136,19 @@ class AnagramCheckerTest {
       assertTrue(checker.isAnagramWithArray("aabb", "baba"));
       assertFalse(checker.isAnagramWithArray("aabb", "abcc"));
     }
+
+    @Test
+    @DisplayName("should return false when a char occurs more often in one string")
+    void shouldCompareCountsNotPresence() {
+      assertFalse(checker.isAnagramWithArray("aab", "abb"));
+    }
+
+    @Test
+    @DisplayName("should not carry counts over from an earlier call")
+    void shouldStartCleanAfterEarlyReturn() {
+      assertFalse(checker.isAnagramWithArray("xyz", "xxq"));
+      assertTrue(checker.isAnagramWithArray("zyx", "xzy"));
+      assertFalse(checker.isAnagramWithArray("zq", "yq"));
+    }
   }
 }
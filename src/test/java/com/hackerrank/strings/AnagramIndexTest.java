@@ -0,0 +1,116 @@
+package com.hackerrank.strings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class AnagramIndexTest {
+
+  private AnagramIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new AnagramIndex();
+  }
+
+  @Nested
+  @DisplayName("add and anagramsOf")
+  class Lookup {
+
+    @Test
+    @DisplayName("should group anagrams into one class")
+    void shouldGroupAnagrams() {
+      index.addAll(List.of("listen", "silent", "enlist", "google", "banana"));
+      assertEquals(Set.of("listen", "silent", "enlist"), index.anagramsOf("tinsel"));
+      assertEquals(Set.of("google"), index.anagramsOf("google"));
+      assertEquals(3, index.classCount());
+    }
+
+    @Test
+    @DisplayName("should ignore case like AnagramChecker")
+    void shouldIgnoreCase() {
+      index.add("Triangle");
+      assertEquals(Set.of("Triangle"), index.anagramsOf("INTEGRAL"));
+    }
+
+    @Test
+    @DisplayName("should return an empty set for an unknown class or null")
+    void shouldReturnEmptyForUnknown() {
+      index.add("abc");
+      assertTrue(index.anagramsOf("abd").isEmpty());
+      assertTrue(index.anagramsOf(null).isEmpty());
+      assertEquals(0, index.tokenCount("abd"));
+    }
+
+    @Test
+    @DisplayName("should keep distinct words but count every token")
+    void shouldCountRepeatedTokens() {
+      index.addAll(List.of("tea", "eat", "tea", "ate", "tea"));
+      assertEquals(Set.of("tea", "eat", "ate"), index.anagramsOf("eta"));
+      assertEquals(5, index.tokenCount("aet"));
+    }
+
+    @Test
+    @DisplayName("should separate words with the same chars in different amounts")
+    void shouldCompareCounts() {
+      index.addAll(List.of("aab", "abb", ""));
+      assertEquals(Set.of("aab"), index.anagramsOf("baa"));
+      assertEquals(Set.of(""), index.anagramsOf(""));
+      assertEquals(3, index.classCount());
+    }
+
+    @Test
+    @DisplayName("should handle long ASCII and non-ASCII words")
+    void shouldHandleLongAndNonAsciiWords() {
+      String longWord = "the quick brown fox jumps over the lazy dog";
+      String reversed = new StringBuilder(longWord).reverse().toString();
+      index.addAll(List.of(longWord, "çöğüş", "şüğöç"));
+      assertEquals(Set.of(longWord), index.anagramsOf(reversed));
+      assertEquals(Set.of("çöğüş", "şüğöç"), index.anagramsOf("ÇÖĞÜŞ"));
+    }
+  }
+
+  @Nested
+  @DisplayName("parallel ingestion")
+  class ParallelIngestion {
+
+    @Test
+    @DisplayName("should match sequential grouping by sorted key")
+    void shouldMatchSortedKeyGrouping() {
+      Random random = new Random(5);
+      List<String> words = new ArrayList<>();
+      for (int i = 0; i < 200_000; i++) {
+        char[] chars = new char[1 + random.nextInt(i % 10 == 0 ? 60 : 6)];
+        for (int k = 0; k < chars.length; k++) {
+          chars[k] = (char) ((i % 97 == 0 ? 'à' : 'a') + random.nextInt(5));
+        }
+        words.add(new String(chars));
+      }
+      index.addAll(words.stream());
+
+      Map<String, Set<String>> expected = new HashMap<>();
+      for (String word : words) {
+        char[] key = word.toCharArray();
+        Arrays.sort(key);
+        expected.computeIfAbsent(new String(key), k -> new HashSet<>()).add(word);
+      }
+      assertEquals(expected.size(), index.classCount());
+      for (Set<String> group : expected.values()) {
+        assertEquals(group, index.anagramsOf(group.iterator().next()));
+      }
+      assertEquals(words.size(), expected.keySet().stream().mapToLong(index::tokenCount).sum());
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.hackerrank.strings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CharChunksTest {
+
+  private static String collect(Path file, long window) throws IOException {
+    StringBuilder out = new StringBuilder();
+    CharChunks.forEach(file, StandardCharsets.UTF_8, window,
+        (chars, from, to) -> out.append(chars, from, to));
+    return out.toString();
+  }
+
+  @Test
+  @DisplayName("should decode multi-byte chars split across mapping windows")
+  void shouldDecodeAcrossWindows(@TempDir Path dir) throws IOException {
+    // 1-, 2-, 3- and 4-byte UTF-8 sequences, so every window size cuts some of them
+    String text = "aé€😀".repeat(200_000);
+    Path file = dir.resolve("utf8.txt");
+    Files.writeString(file, text);
+    for (long window : new long[] {4093, 65_537, 999_999}) {
+      assertEquals(text, collect(file, window), "window " + window);
+    }
+  }
+
+  @Test
+  @DisplayName("should replace malformed input like new String(bytes) does")
+  void shouldReplaceMalformedInput(@TempDir Path dir) throws IOException {
+    byte[] bytes = new byte[(int) CharChunks.MAP_THRESHOLD + 3];
+    bytes[bytes.length - 1] = (byte) 0xC3;   // truncated 2-byte sequence at the end
+    Path file = dir.resolve("bad.bin");
+    Files.write(file, bytes);
+    assertEquals(new String(bytes, StandardCharsets.UTF_8), collect(file, 1 << 16));
+  }
+}
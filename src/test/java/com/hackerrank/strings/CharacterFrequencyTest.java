@@ -4,11 +4,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class CharacterFrequencyTest {
 
@@ -129,4 +137,34 @@ class CharacterFrequencyTest {
       assertTrue(frequency.countCharactersTraditional(null).isEmpty());
     }
   }
+
+  @Nested
+  @DisplayName("countCharactersStreaming - Reader, channel and file")
+  class Streaming {
+
+    private final String text = "héllo wörld 😀 ".repeat(5000);
+
+    @Test
+    @DisplayName("should match countCharacters for every source")
+    void shouldMatchInMemoryCount(@TempDir Path dir) throws IOException {
+      Map<Character, Long> expected = frequency.countCharacters(text);
+      Path file = dir.resolve("text.txt");
+      Files.writeString(file, text.repeat(20));   // above the memory-mapping threshold
+
+      assertEquals(expected, frequency.countCharactersStreaming(new StringReader(text)));
+      assertEquals(expected, frequency.countCharactersStreaming(
+          Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))),
+          StandardCharsets.UTF_8));
+      Map<Character, Long> fromFile =
+          frequency.countCharactersStreaming(file, StandardCharsets.UTF_8);
+      expected.replaceAll((c, n) -> n * 20);
+      assertEquals(expected, fromFile);
+    }
+
+    @Test
+    @DisplayName("should return empty map for empty input")
+    void shouldReturnEmptyForEmptyInput() throws IOException {
+      assertTrue(frequency.countCharactersStreaming(new StringReader("")).isEmpty());
+    }
+  }
 }
@@ -0,0 +1,160 @@
+package com.hackerrank.strings;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CharacterHistogramTest {
+
+  private static long[] expected(String s) {
+    long[] histogram = new long[CharacterHistogram.CHAR_SIZE];
+    for (Map.Entry<Character, Integer> e :
+        new CharacterFrequency().countCharactersTraditional(s).entrySet()) {
+      histogram[e.getKey()] = e.getValue();
+    }
+    return histogram;
+  }
+
+  private static String random(Random random, int length, int maxChar) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      // Mostly ASCII with the occasional wide char, like real text
+      chars[i] = random.nextInt(10) == 0 ? (char) random.nextInt(maxChar)
+          : (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+
+  @Nested
+  @DisplayName("UTF-16 path")
+  class Utf16 {
+
+    @Test
+    @DisplayName("should match the map-based count for every length around the 4-char groups")
+    void shouldMatchMapCount() {
+      Random random = new Random(42);
+      for (int length = 0; length < 40; length++) {
+        String s = random(random, length, 65536);
+        assertArrayEquals(expected(s), CharacterHistogram.count(s), "length " + length);
+      }
+    }
+
+    @Test
+    @DisplayName("should count across chunk and block boundaries")
+    void shouldCountLargeInput() {
+      String s = random(new Random(7), 300_001, 1000);
+      assertArrayEquals(expected(s), CharacterHistogram.count(s));
+      assertArrayEquals(expected(s), CharacterHistogram.count(new StringBuilder(s)));
+    }
+
+    @Test
+    @DisplayName("should count surrogate halves and accumulate into an existing histogram")
+    void shouldAccumulate() {
+      String emoji = "a😀a";
+      long[] histogram = CharacterHistogram.count(emoji);
+      char[] chars = emoji.toCharArray();
+      CharacterHistogram.count(chars, 1, 3, histogram);
+      assertEquals(2, histogram['a']);
+      assertEquals(2, histogram[0xD83D]);
+      assertEquals(2, histogram[0xDE00]);
+    }
+
+    @Test
+    @DisplayName("should return an empty histogram for null via CharacterFrequency")
+    void shouldHandleNull() {
+      long[] histogram = new CharacterFrequency().countCharactersHistogram(null);
+      assertEquals(CharacterHistogram.CHAR_SIZE, histogram.length);
+      assertEquals(0, Arrays.stream(histogram).sum());
+    }
+  }
+
+  @Nested
+  @DisplayName("Latin-1 path")
+  class Latin1 {
+
+    @Test
+    @DisplayName("should count every byte value, including negative bytes")
+    void shouldCountBytes() {
+      Random random = new Random(1);
+      for (int length : new int[] {0, 1, 7, 8, 9, 63, 65_543, 200_000}) {
+        byte[] data = new byte[length];
+        random.nextBytes(data);
+        long[] expected = new long[CharacterHistogram.LATIN1_SIZE];
+        for (byte b : data) {
+          expected[b & 0xFF]++;
+        }
+        assertArrayEquals(expected, CharacterHistogram.countLatin1(data), "length " + length);
+      }
+    }
+
+    @Test
+    @DisplayName("should agree with the UTF-16 path on Latin-1 text")
+    void shouldAgreeWithUtf16() {
+      String s = "héllo wörld, ÿ and \u0000 " + "x".repeat(100);
+      long[] latin1 = CharacterHistogram.countLatin1(s.getBytes(StandardCharsets.ISO_8859_1));
+      long[] utf16 = CharacterHistogram.count(s);
+      for (int c = 0; c < CharacterHistogram.LATIN1_SIZE; c++) {
+        assertEquals(utf16[c], latin1[c], "char " + c);
+      }
+    }
+
+    @Test
+    @DisplayName("should count a sub-range and reject bad ranges")
+    void shouldCountRange() {
+      byte[] data = "aabbbcccc".getBytes(StandardCharsets.ISO_8859_1);
+      long[] histogram = new long[CharacterHistogram.LATIN1_SIZE];
+      CharacterHistogram.countLatin1(data, 2, 6, histogram);
+      assertEquals(0, histogram['a']);
+      assertEquals(3, histogram['b']);
+      assertEquals(1, histogram['c']);
+      assertThrows(IndexOutOfBoundsException.class,
+          () -> CharacterHistogram.countLatin1(data, 5, 10, histogram));
+    }
+  }
+
+  @Nested
+  @DisplayName("Parallel path")
+  class Parallel {
+
+    @Test
+    @DisplayName("should match the sequential count on a multi-worker pool")
+    void shouldMatchSequentialForString() {
+      String s = random(new Random(3), 3 * CharacterHistogram.PARALLEL_THRESHOLD + 17, 65536);
+      try (ForkJoinPool pool = new ForkJoinPool(4)) {
+        assertArrayEquals(CharacterHistogram.count(s), CharacterHistogram.parallelCount(s, pool));
+      }
+      assertArrayEquals(CharacterHistogram.count("short"),
+          CharacterHistogram.parallelCount("short"));
+    }
+
+    @Test
+    @DisplayName("should split UTF-8 files without cutting characters")
+    void shouldMatchSequentialForFile(@TempDir Path dir) throws IOException {
+      // 1- to 4-byte sequences, so leaf boundaries land inside characters
+      String s = "aé€😀 ".repeat(CharacterHistogram.PARALLEL_THRESHOLD / 2);
+      Path file = dir.resolve("utf8.txt");
+      Files.writeString(file, s);
+      try (ForkJoinPool pool = new ForkJoinPool(8)) {
+        assertArrayEquals(CharacterHistogram.count(s),
+            CharacterHistogram.parallelCount(file, pool));
+      }
+      Path small = dir.resolve("small.txt");
+      Files.writeString(small, "héllo");
+      assertArrayEquals(CharacterHistogram.count("héllo"),
+          CharacterHistogram.parallelCount(small));
+    }
+  }
+}
@@ -1,9 +1,17 @@
 package com.hackerrank.strings;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,4 +75,26 @@ class DuplicateRemoverTest {
             assertEquals("abcd", remover.removeDuplicatesWithBuilder("abcdabcd"));
         }
     }
+
+    @Nested
+    @DisplayName("removeDuplicatesStreaming - Reader, channel and file")
+    class Streaming {
+
+        @Test
+        @DisplayName("should match removeDuplicates for every source")
+        void shouldMatchInMemoryResult(@TempDir Path dir) throws IOException {
+            String text = "programming ünïcode ".repeat(100_000);
+            Path file = dir.resolve("text.txt");
+            Files.writeString(file, text, StandardCharsets.UTF_16LE);
+
+            String expected = remover.removeDuplicates(text);
+            assertEquals(expected, remover.removeDuplicatesStreaming(new StringReader(text)));
+            assertEquals(expected, remover.removeDuplicatesStreaming(
+                    Channels.newChannel(new ByteArrayInputStream(
+                            text.getBytes(StandardCharsets.UTF_8))),
+                    StandardCharsets.UTF_8));
+            assertEquals(expected,
+                    remover.removeDuplicatesStreaming(file, StandardCharsets.UTF_16LE));
+        }
+    }
 }
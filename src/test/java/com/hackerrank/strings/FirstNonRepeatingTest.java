@@ -2,10 +2,18 @@ package com.hackerrank.strings;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class FirstNonRepeatingTest {
 
@@ -134,4 +142,29 @@ class FirstNonRepeatingTest {
       assertEquals(4, finder.firstNonRepeatingCharEfficiently("aabbc"));
     }
   }
+
+  @Nested
+  @DisplayName("firstNonRepeatingCharStreaming - Reader, channel and file")
+  class Streaming {
+
+    @Test
+    @DisplayName("should match firstNonRepeatingChar for a Reader")
+    void shouldMatchForReader() throws IOException {
+      for (String s : new String[] {"swiss", "stress", "aabbcc", "", "z", "abcabcé"}) {
+        assertEquals(finder.firstNonRepeatingChar(s),
+            finder.firstNonRepeatingCharStreaming(new StringReader(s)), s);
+      }
+    }
+
+    @Test
+    @DisplayName("should find a char that only occurs once deep in a large file")
+    void shouldFindInLargeFile(@TempDir Path dir) throws IOException {
+      Path file = dir.resolve("log.txt");
+      Files.writeString(file, "ab".repeat(1 << 20) + "ж" + "ba".repeat(1 << 20) + "q");
+      assertEquals('ж', finder.firstNonRepeatingCharStreaming(file, StandardCharsets.UTF_8));
+      byte[] bytes = Files.readAllBytes(file);
+      assertEquals('ж', finder.firstNonRepeatingCharStreaming(
+          Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8));
+    }
+  }
 }
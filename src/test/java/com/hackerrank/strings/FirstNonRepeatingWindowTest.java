@@ -0,0 +1,189 @@
+package com.hackerrank.strings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class FirstNonRepeatingWindowTest {
+
+  private FirstNonRepeatingWindow window;
+
+  @BeforeEach
+  void setUp() {
+    window = new FirstNonRepeatingWindow();
+  }
+
+  private void appendAll(String s) {
+    for (char c : s.toCharArray()) {
+      window.append(c);
+    }
+  }
+
+  @Nested
+  @DisplayName("append only")
+  class AppendOnly {
+
+    @Test
+    @DisplayName("should return -1 for an empty window")
+    void shouldReturnMinusOneWhenEmpty() {
+      assertEquals(-1, window.firstNonRepeating());
+      assertEquals(0, window.size());
+    }
+
+    @Test
+    @DisplayName("should match FirstNonRepeating on a whole string")
+    void shouldMatchWholeString() {
+      appendAll("swiss");
+      assertEquals('w', window.firstNonRepeating());
+    }
+
+    @Test
+    @DisplayName("should move on when the first unique char repeats")
+    void shouldMoveOnWhenFirstRepeats() {
+      appendAll("abc");
+      assertEquals('a', window.firstNonRepeating());
+      window.append('a');
+      assertEquals('b', window.firstNonRepeating());
+      window.append('b');
+      assertEquals('c', window.firstNonRepeating());
+      window.append('c');
+      assertEquals(-1, window.firstNonRepeating());
+    }
+
+    @Test
+    @DisplayName("should handle chars outside a-z")
+    void shouldHandleFullCharRange() {
+      appendAll("\u00C4\u00C40\u20AC\uFFFF\u20AC");
+      assertEquals('0', window.firstNonRepeating());
+      window.append('0');
+      assertEquals('\uFFFF', window.firstNonRepeating());
+    }
+  }
+
+  @Nested
+  @DisplayName("evict")
+  class Evict {
+
+    @Test
+    @DisplayName("should return the oldest char")
+    void shouldReturnOldest() {
+      appendAll("xyz");
+      assertEquals('x', window.evict());
+      assertEquals('y', window.evict());
+      assertEquals(1, window.size());
+    }
+
+    @Test
+    @DisplayName("should throw on an empty window")
+    void shouldThrowWhenEmpty() {
+      assertThrows(NoSuchElementException.class, () -> window.evict());
+    }
+
+    @Test
+    @DisplayName("should make the remaining occurrence unique in its place")
+    void shouldRestoreUniqueInOrder() {
+      appendAll("cabcd");                    // c repeats; a, b, d unique
+      window.evict();                        // "abcd": c unique between b and d
+      assertEquals('a', window.firstNonRepeating());
+      window.append('a');
+      window.append('b');
+      assertEquals('c', window.firstNonRepeating());
+    }
+
+    @Test
+    @DisplayName("should find a unique char across the ring wrap-around")
+    void shouldFindAcrossWrap() {
+      for (int i = 0; i < 100; i++) {
+        window.append('z');
+        window.append('z');
+        window.evict();
+        window.evict();
+      }
+      appendAll("qqr");
+      assertEquals('r', window.firstNonRepeating());
+    }
+
+    @Test
+    @DisplayName("should find a lone unique char deep in a large window")
+    void shouldFindDeepInLargeWindow() {
+      for (int i = 0; i < 300_000; i++) {
+        window.append((char) ('a' + i % 2));
+      }
+      window.append('u');
+      window.append('v');
+      window.append('v');
+      assertEquals('u', window.firstNonRepeating());
+      window.append('u');
+      assertEquals(-1, window.firstNonRepeating());
+      while (window.size() > 3) {
+        window.evict();
+      }
+      // "vvu": the evicted u leaves the appended one as the only u
+      assertEquals('u', window.firstNonRepeating());
+    }
+  }
+
+  @Nested
+  @DisplayName("random streams")
+  class RandomStreams {
+
+    private int bruteForce(ArrayDeque<Character> chars) {
+      int[] count = new int[65536];
+      for (char c : chars) {
+        count[c]++;
+      }
+      for (char c : chars) {
+        if (count[c] == 1) {
+          return c;
+        }
+      }
+      return -1;
+    }
+
+    private void checkAgainstBruteForce(int alphabet, int maxWindow, long seed) {
+      Random random = new Random(seed);
+      ArrayDeque<Character> expected = new ArrayDeque<>();
+      for (int step = 0; step < 50_000; step++) {
+        boolean grow = expected.isEmpty()
+            || (expected.size() < maxWindow && random.nextInt(100) < 55);
+        if (grow) {
+          char c = (char) (alphabet == 65536
+              ? random.nextInt(65536)
+              : 'A' + random.nextInt(alphabet));
+          window.append(c);
+          expected.addLast(c);
+        } else {
+          assertEquals(expected.removeFirst(), window.evict());
+        }
+        if (step % 7 == 0) {
+          assertEquals(bruteForce(expected), window.firstNonRepeating(), "step " + step);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("should agree with a brute-force scan over a small alphabet")
+    void shouldAgreeSmallAlphabet() {
+      checkAgainstBruteForce(6, 40, 1);
+    }
+
+    @Test
+    @DisplayName("should agree with a brute-force scan over a wide window")
+    void shouldAgreeWideWindow() {
+      checkAgainstBruteForce(2000, 10_000, 2);
+    }
+
+    @Test
+    @DisplayName("should agree with a brute-force scan over the full char range")
+    void shouldAgreeFullRange() {
+      checkAgainstBruteForce(65536, 300, 3);
+    }
+  }
+}